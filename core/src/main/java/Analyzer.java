@@ -0,0 +1,261 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * The Analyzer class. It is a lean headless launcher for batch jobs that ask a
+ * bot for the move in a few positions, and loads no UI or server classes.
+ *
+ * Usage: Analyzer &lt;bot&gt; [moveMs] [warmupMs] &lt; positions
+ * <br>
+ * Usage: Analyzer train
+ *
+ * Every input line is a position:
+ * <pre>
+ * &lt;board&gt; [roundsLeft] [X|O]
+ * </pre>
+ * where board is 64 characters of X, O and '.', row by row, as in the
+ * {@link GameServer} protocol, roundsLeft defaults to half the empty squares,
+ * rounded up, and the side to move defaults to O. Every position is answered on
+ * standard output with "row,col", or with "ERR &lt;message&gt;" if the line is
+ * not a valid position, so the answers stay in line with the input. The timings go to standard error: the time
+ * from main to the first move and for every move, and when the launcher passes
+ * -Danalyzer.launchedAt=&lt;epoch ms&gt; ("make analyze" does), the time from
+ * launching the JVM to main.
+ *
+ * With warmupMs, the bot first plays random positions for that long, so the
+ * search hot paths (minimax, evaluate, capture) are compiled before the timed
+ * work. The caches the warm-up filled are cleared again.
+ *
+ * Startup is dominated by loading classes, which an AppCDS archive saves. The
+ * train mode analyses sample positions with every bot so that a run with
+ * -XX:ArchiveClassesAtExit sees every class a job may need; see "make cds".
+ *
+ */
+public class Analyzer {
+    private static final String[] BOTS = { "minimax", "ntuple", "mcts", "hillclimbing", "genetic",
+            "geneticminimax", "endgame", "portfolio", "montecarlo", "random" };
+
+    public static void main(String[] args) throws IOException {
+        long mainStart = System.nanoTime();
+        long mainMillis = System.currentTimeMillis();
+        if (args.length < 1) {
+            System.err.println("Usage: Analyzer <bot> [moveMs] [warmupMs] < positions");
+            System.err.println("       Analyzer train");
+            System.exit(2);
+        }
+        if (args[0].equals("train")) {
+            train();
+            return;
+        }
+
+        Bot bot = Bot.create(args[0]);
+        long moveBudget = args.length > 1 ? Long.parseLong(args[1]) * 1_000_000L : 0;
+        long warmup = args.length > 2 ? Long.parseLong(args[2]) * 1_000_000L : 0;
+        // The JVM's own start time is either inaccurate (ProcessHandle) or costs
+        // tens of milliseconds to read (the management beans), so the launcher
+        // passes the time it started the JVM at.
+        long launchedAt = Long.getLong("analyzer.launchedAt", 0);
+        if (launchedAt > 0) {
+            System.err.printf("launch to main: %dms%n", mainMillis - launchedAt);
+        }
+        if (warmup > 0) {
+            long start = System.nanoTime();
+            int positions = warmUp(bot, warmup);
+            System.err.printf("warm-up: %d positions in %.1fms%n", positions, (System.nanoTime() - start) / 1e6);
+        }
+
+        analyze(bot, new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), moveBudget,
+                mainStart);
+    }
+
+    /**
+     * Answer every position read from the input.
+     *
+     * @param bot        The bot.
+     * @param in         The positions, one per line.
+     * @param moveBudget The time per move in nanoseconds, 0 for no deadline.
+     * @param mainStart  The {@link System#nanoTime()} main started at.
+     */
+    private static void analyze(Bot bot, BufferedReader in, long moveBudget, long mainStart) throws IOException {
+        boolean first = true;
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            String[][] board;
+            int roundsLeft;
+            try {
+                board = parse(parts[0]);
+                long empty = ~(Rules.bits(board, "X") | Rules.bits(board, "O"));
+                if (empty == 0) {
+                    throw new IllegalArgumentException("The board is full.");
+                }
+                roundsLeft = roundsLeft(parts, empty);
+                if (side(parts).equals("X")) {
+                    // Bots always play O.
+                    board = Rules.toBoard(Rules.bits(board, "O"), Rules.bits(board, "X"));
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("ERR " + e.getMessage());
+                continue;
+            }
+
+            long t0 = System.nanoTime();
+            int[] move = moveBudget > 0 ? bot.move(board, roundsLeft, t0 + moveBudget) : bot.move(board, roundsLeft);
+            long t1 = System.nanoTime();
+            System.out.println(move[0] + "," + move[1]);
+            if (first) {
+                System.err.printf("main to first move: %.1fms%n", (t1 - mainStart) / 1e6);
+                first = false;
+            }
+            System.err.printf("move: %.1fms%n", (t1 - t0) / 1e6);
+        }
+    }
+
+    /**
+     * Read a board in the GameServer format.
+     *
+     * @param text 64 characters of X, O and '.', row by row.
+     *
+     * @return The board, each square holding "X", "O" or "".
+     *
+     * @throws IllegalArgumentException If the text is not a board.
+     */
+    static String[][] parse(String text) {
+        if (text.length() != BitBoard.SQUARES) {
+            throw new IllegalArgumentException("A board is " + BitBoard.SQUARES + " characters.");
+        }
+        String[][] board = new String[BitBoard.ROW][BitBoard.COL];
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            char c = text.charAt(square);
+            if (c != 'X' && c != 'O' && c != '.') {
+                throw new IllegalArgumentException("Invalid square: " + c);
+            }
+            board[square / BitBoard.COL][square % BitBoard.COL] = c == '.' ? "" : String.valueOf(c);
+        }
+        return board;
+    }
+
+    /**
+     * Read the rounds left of a position line.
+     *
+     * @param parts The fields of the line: board, [roundsLeft], [X|O].
+     * @param empty The empty squares of the board.
+     *
+     * @return The rounds left, by default half the empty squares, rounded up.
+     *
+     * @throws IllegalArgumentException If the field is not a positive number.
+     */
+    static int roundsLeft(String[] parts, long empty) {
+        if (parts.length < 2) {
+            return (Long.bitCount(empty) + 1) / 2;
+        }
+        int roundsLeft;
+        try {
+            roundsLeft = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rounds left: " + parts[1]);
+        }
+        if (roundsLeft < 1) {
+            throw new IllegalArgumentException("Invalid rounds left: " + parts[1]);
+        }
+        return roundsLeft;
+    }
+
+    /**
+     * Read the side to move of a position line.
+     *
+     * @param parts The fields of the line: board, [roundsLeft], [X|O].
+     *
+     * @return "X" or "O", by default "O".
+     *
+     * @throws IllegalArgumentException If the field is neither X nor O, or there
+     *                                  are more fields.
+     */
+    static String side(String[] parts) {
+        if (parts.length > 3) {
+            throw new IllegalArgumentException("A position is at most 3 fields.");
+        }
+        if (parts.length < 3) {
+            return "O";
+        }
+        if (!parts[2].equals("X") && !parts[2].equals("O")) {
+            throw new IllegalArgumentException("Invalid side: " + parts[2]);
+        }
+        return parts[2];
+    }
+
+    /**
+     * Let a bot move in random positions until the time is up, then clear the
+     * shared cache so the timed work starts from the same cache as without the
+     * warm-up. Every search gets at most 20ms, so short warm-ups still see many
+     * positions.
+     *
+     * @param bot   The bot to warm up.
+     * @param nanos How long to warm up.
+     *
+     * @return The number of positions searched.
+     */
+    static int warmUp(Bot bot, long nanos) {
+        SplittableRandom random = new SplittableRandom(1);
+        long end = System.nanoTime() + nanos;
+        int positions = 0;
+        while (System.nanoTime() - end < 0) {
+            GameSession session = new GameSession(BitBoard.SQUARES / 2 - 4, false);
+            for (int plies = random.nextInt(2 * session.getRoundsLeft()); plies > 0; plies--) {
+                int square;
+                do {
+                    square = random.nextInt(BitBoard.SQUARES);
+                } while (!session.isEmpty(square / 8, square % 8));
+                session.play(square / 8, square % 8);
+            }
+            if (session.isOver()) {
+                continue;
+            }
+            long deadline = Math.min(end, System.nanoTime() + 20_000_000L);
+            bot.move(session.snapshotFor(session.isPlayerXTurn() ? "X" : "O"), session.getRoundsLeft(), deadline);
+            positions++;
+        }
+        EvalCache.shared().clear();
+        return positions;
+    }
+
+    /**
+     * Write a board in the GameServer format.
+     *
+     * @param x The squares of player X.
+     * @param o The squares of player O.
+     *
+     * @return 64 characters of X, O and '.', row by row.
+     */
+    static String format(long x, long o) {
+        StringBuilder sb = new StringBuilder(BitBoard.SQUARES);
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            sb.append((x >>> square & 1) != 0 ? 'X' : (o >>> square & 1) != 0 ? 'O' : '.');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Warm up every bot and let it answer the start position for both sides, for
+     * an AppCDS training run.
+     */
+    private static void train() throws IOException {
+        String start = format(Rules.START_X, Rules.START_O);
+        for (String name : BOTS) {
+            Bot bot = Bot.create(name);
+            long t0 = System.nanoTime();
+            int positions = warmUp(bot, 200_000_000L);
+            System.err.printf("%s: warm-up %d positions in %.0fms%n", name, positions, (System.nanoTime() - t0) / 1e6);
+            analyze(bot, new BufferedReader(new StringReader(start + " 28 O\n" + start + " 28 X\n")), 20_000_000L,
+                    t0);
+        }
+    }
+}
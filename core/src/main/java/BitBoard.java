@@ -0,0 +1,188 @@
+import java.util.SplittableRandom;
+
+/**
+ * The BitBoard class. It holds the bit tricks used to represent one side of the
+ * 8x8 game board as a single long.
+ *
+ * Square (row, col) is stored in bit row * 8 + col, so row 0 is the low byte and
+ * column 0 is the low bit of every byte.
+ *
+ */
+public final class BitBoard {
+    public static final int ROW = 8;
+    public static final int COL = 8;
+    public static final int SQUARES = ROW * COL;
+
+    public static final long FULL = -1L;
+    public static final long COL_0 = 0x0101010101010101L;
+    public static final long COL_7 = 0x8080808080808080L;
+
+    private static final long[] NEIGHBOURS = new long[SQUARES];
+
+    static {
+        for (int square = 0; square < SQUARES; square++) {
+            NEIGHBOURS[square] = neighbours(1L << square);
+        }
+    }
+
+    private BitBoard() {
+    }
+
+    /**
+     * Get the bit index of a square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     *
+     * @return The bit index of the square.
+     */
+    public static int square(int row, int col) {
+        return row * COL + col;
+    }
+
+    /**
+     * Get the single bit mask of a square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     *
+     * @return The mask with only the square set.
+     */
+    public static long bit(int row, int col) {
+        return 1L << (row * COL + col);
+    }
+
+    /**
+     * Get every square orthogonally adjacent to at least one square in bits.
+     *
+     * @param bits The squares to expand.
+     *
+     * @return The orthogonal neighbours of bits, not including bits itself.
+     */
+    public static long neighbours(long bits) {
+        return ((bits << 8) | (bits >>> 8) | ((bits & ~COL_7) << 1) | ((bits & ~COL_0) >>> 1)) & ~bits;
+    }
+
+    /**
+     * Get the squares orthogonally adjacent to one square, from a table built
+     * once, so the edges of the board cost no branches or shifts.
+     *
+     * @param square The bit index of the square.
+     *
+     * @return The 2 to 4 neighbours of the square.
+     */
+    public static long neighboursOf(int square) {
+        return NEIGHBOURS[square];
+    }
+
+    /**
+     * Pick one of a set of squares uniformly at random, using one draw of the
+     * random generator.
+     *
+     * @param squares The squares to pick from, at least one.
+     * @param random  The random generator.
+     *
+     * @return The bit index of the picked square.
+     */
+    public static int randomSquare(long squares, SplittableRandom random) {
+        for (int n = random.nextInt(Long.bitCount(squares)); n > 0; n--) {
+            squares &= squares - 1;
+        }
+        return Long.numberOfTrailingZeros(squares);
+    }
+
+    /**
+     * Get every square with at least n of its orthogonal neighbours in bits. The
+     * four neighbours are added up bit-sliced, for all squares at once.
+     *
+     * @param bits The squares to count.
+     * @param n    The fewest neighbours, 1 to 4.
+     *
+     * @return The squares with at least n neighbours in bits.
+     */
+    public static long atLeast(long bits, int n) {
+        long north = bits >>> 8;
+        long south = bits << 8;
+        long east = (bits & ~COL_0) >>> 1;
+        long west = (bits & ~COL_7) << 1;
+        if (n <= 1) {
+            return north | south | east | west;
+        }
+        // Add the pairs, then the two 2-bit sums: ones + 2 * twos + 4 * fours.
+        long a = north ^ south;
+        long b = north & south;
+        long c = east ^ west;
+        long d = east & west;
+        long ones = a ^ c;
+        long carry = a & c;
+        long twos = b ^ d ^ carry;
+        long fours = (b & d) | (carry & (b ^ d));
+        if (n == 2) {
+            return twos | fours;
+        }
+        return n == 3 ? fours | (twos & ones) : fours;
+    }
+
+    /**
+     * Mirror the board upside down, row 0 becomes row 7.
+     *
+     * @param bits The board to flip.
+     *
+     * @return The flipped board.
+     */
+    public static long flipVertical(long bits) {
+        return Long.reverseBytes(bits);
+    }
+
+    /**
+     * Mirror the board left to right, column 0 becomes column 7.
+     *
+     * @param bits The board to mirror.
+     *
+     * @return The mirrored board.
+     */
+    public static long mirrorHorizontal(long bits) {
+        bits = ((bits >>> 1) & 0x5555555555555555L) | ((bits & 0x5555555555555555L) << 1);
+        bits = ((bits >>> 2) & 0x3333333333333333L) | ((bits & 0x3333333333333333L) << 2);
+        bits = ((bits >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((bits & 0x0F0F0F0F0F0F0F0FL) << 4);
+        return bits;
+    }
+
+    /**
+     * Transpose the board, square (row, col) becomes square (col, row).
+     *
+     * @param bits The board to transpose.
+     *
+     * @return The transposed board.
+     */
+    public static long transpose(long bits) {
+        long t;
+        t = 0x0F0F0F0F00000000L & (bits ^ (bits << 28));
+        bits ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (bits ^ (bits << 14));
+        bits ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (bits ^ (bits << 7));
+        bits ^= t ^ (t >>> 7);
+        return bits;
+    }
+
+    /**
+     * Render a pair of boards as 8 lines of X, O and dots. Useful for debugging.
+     *
+     * @param x The squares of player X.
+     * @param o The squares of player O.
+     *
+     * @return The board as text.
+     */
+    public static String toString(long x, long o) {
+        StringBuilder sb = new StringBuilder(ROW * (COL + 1));
+        for (int i = 0; i < ROW; i++) {
+            for (int j = 0; j < COL; j++) {
+                long b = bit(i, j);
+                sb.append((x & b) != 0 ? 'X' : (o & b) != 0 ? 'O' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
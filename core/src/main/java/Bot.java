@@ -0,0 +1,127 @@
+import java.util.SplittableRandom;
+
+public abstract class Bot {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    /** The random games per leaf of the montecarlo bot. */
+    private static final int MONTE_CARLO_GAMES = 64;
+
+    public abstract int[] move(String[][] board, int roundsLeft);
+
+    /**
+     * Make a move before a deadline. Bots that search for a while stop when the
+     * deadline passes and return the best move found so far, which is always a
+     * valid move. Bots that are fast anyway ignore the deadline.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        return this.move(board, roundsLeft);
+    }
+
+    /**
+     * Check whether a deadline has passed. With a deadline, an interrupted
+     * thread counts as out of time too, so a search can be cancelled (see
+     * {@link PortfolioBot}) and still answer with its best move so far. A search
+     * without a deadline is never cut short, so it always has a move.
+     *
+     * @param deadline The {@link System#nanoTime()} deadline, or NO_DEADLINE.
+     *
+     * @return True if there is a deadline and it has passed or the thread was
+     *         interrupted.
+     */
+    protected static boolean isExpired(long deadline) {
+        return deadline != NO_DEADLINE
+                && (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Get how far ahead the last move looked, for comparing the answers of
+     * bots that race each other.
+     *
+     * @return The number of moves of the deepest finished search, counting the
+     *         bot's own, or 0 if the bot does not search the game tree.
+     */
+    public int lastDepth() {
+        return 0;
+    }
+
+    /**
+     * Check whether the last move is proven best, because its search reached
+     * the end of the game in every line.
+     *
+     * @return True if the last move is proven best.
+     */
+    public boolean isProven() {
+        return false;
+    }
+
+    /**
+     * Create a bot by name, for the headless tools.
+     *
+     * @param name One of minimax, ntuple, mcts, hillclimbing, genetic,
+     *               geneticminimax, endgame, portfolio, montecarlo or random.
+     *
+     * @return A new bot.
+     *
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    public static Bot create(String name) {
+        return create(name, new SplittableRandom());
+    }
+
+    /**
+     * Create a bot by name whose random choices come from the given stream, so
+     * runs from the same seed make the same moves. Bots that make no random
+     * choices ignore the stream.
+     *
+     * @param name   One of minimax, ntuple, mcts, hillclimbing, genetic,
+     *               geneticminimax, endgame, portfolio, montecarlo or random.
+     * @param random The random stream, e.g. new SplittableRandom(seed).
+     *
+     * @return A new bot.
+     *
+     * @throws IllegalArgumentException If the name is unknown.
+     */
+    public static Bot create(String name, SplittableRandom random) {
+        switch (name.toLowerCase()) {
+            case "minimax":
+                return new MinimaxBot();
+            case "ntuple":
+                return new MinimaxBot(EvalCache.shared(), Evaluator.standard());
+            case "mcts":
+                return new MctsBot(Evaluator.standard(), random);
+            case "montecarlo":
+                return new MctsBot(Playouts.evaluator(Playouts.standard(), MONTE_CARLO_GAMES), random);
+            case "hillclimbing":
+                return new HillClimbingBot(HillClimbingBot.Strategy.SIDEWAYS, random, true);
+            case "genetic":
+                return new GeneticBot(random);
+            case "geneticminimax":
+                return new GeneticMinimaxBot(EvalCache.shared(), random);
+            case "endgame":
+                return new EndgameBot();
+            case "portfolio":
+                return new PortfolioBot(random);
+            case "random":
+                return new RandomBot(random);
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + name);
+        }
+    }
+
+    /**
+     * Collect the squares of one player into a bitboard. See {@link BitBoard}.
+     *
+     * @param board  The current state of the board.
+     * @param player The player, "X" or "O".
+     *
+     * @return The squares of the player.
+     */
+    protected static long bits(String[][] board, String player) {
+        return Rules.bits(board, player);
+    }
+}
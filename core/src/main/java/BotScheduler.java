@@ -0,0 +1,219 @@
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The BotScheduler class. It runs bot computations for many game sessions on a
+ * fixed number of worker threads.
+ *
+ * Every session gets its own {@link Lane}. Workers serve the lanes round robin,
+ * one task per lane per turn, so a session that queues many tasks cannot starve
+ * the others. The total number of queued tasks is bounded, and a task submitted
+ * over the bound fails with a RejectedExecutionException instead of piling up.
+ *
+ * Bot moves can be given a latency target, counted from submission so the time
+ * spent in the queue is included. The bot gets a deadline that leaves a safety
+ * margin before the target, and the margin follows the p99 of how far past their
+ * deadline earlier moves finished, so 99% of moves land within the target.
+ *
+ */
+public class BotScheduler implements AutoCloseable {
+    private final int maxQueued;
+    private final Thread[] workers;
+    private final ArrayDeque<Lane> ready = new ArrayDeque<>();
+    private int queued;
+    private boolean closed;
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram compute = new LatencyHistogram();
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+    private final LatencyHistogram overrun = new LatencyHistogram();
+    private final LongAdder missedTargets = new LongAdder();
+
+    /**
+     * Start the worker threads.
+     *
+     * @param threads   The number of worker threads.
+     * @param maxQueued The maximum number of tasks waiting over all lanes.
+     */
+    public BotScheduler(int threads, int maxQueued) {
+        this.maxQueued = maxQueued;
+        this.workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            this.workers[t] = new Thread(this::work, "bot-worker-" + t);
+            this.workers[t].setDaemon(true);
+            this.workers[t].start();
+        }
+    }
+
+    /**
+     * Create a lane for a new session.
+     *
+     * @return The lane.
+     */
+    public Lane newLane() {
+        return new Lane();
+    }
+
+    /**
+     * The queue of one session.
+     */
+    public class Lane {
+        private final ArrayDeque<Task<?>> tasks = new ArrayDeque<>();
+
+        private Lane() {
+        }
+
+        /**
+         * Queue a computation for this session.
+         *
+         * @param callable The computation, usually a call to {@link Bot#move}.
+         *
+         * @return The future result of the computation.
+         */
+        public <T> CompletableFuture<T> submit(Callable<T> callable) {
+            Task<T> task = new Task<>(callable);
+            synchronized (BotScheduler.this) {
+                if (BotScheduler.this.closed) {
+                    task.future.completeExceptionally(new RejectedExecutionException("Scheduler is closed."));
+                } else if (BotScheduler.this.queued >= BotScheduler.this.maxQueued) {
+                    task.future.completeExceptionally(new RejectedExecutionException("Bot queue is full."));
+                } else {
+                    BotScheduler.this.queued++;
+                    if (this.tasks.isEmpty()) {
+                        BotScheduler.this.ready.addLast(this);
+                        BotScheduler.this.notify();
+                    }
+                    this.tasks.addLast(task);
+                }
+            }
+            return task.future;
+        }
+
+        /**
+         * Queue a bot move that should be answered within target nanoseconds from
+         * now. See {@link Bot#move(String[][], int, long)}.
+         *
+         * @param bot        The bot to move.
+         * @param board      The current state of the board.
+         * @param roundsLeft The number of rounds left in the game.
+         * @param target     The latency target in nanoseconds.
+         *
+         * @return The future move.
+         */
+        public CompletableFuture<int[]> submitMove(Bot bot, String[][] board, int roundsLeft, long target) {
+            long submitted = System.nanoTime();
+            long margin = BotScheduler.this.overrun.percentile(99);
+            long deadline = submitted + Math.max(0, target - margin);
+            return this.submit(() -> bot.move(board, roundsLeft, deadline))
+                    .whenComplete((move, error) -> BotScheduler.this.recordMove(submitted, deadline, target));
+        }
+    }
+
+    private void recordMove(long submitted, long deadline, long target) {
+        long now = System.nanoTime();
+        this.moveLatency.record(now - submitted);
+        this.overrun.record(Math.max(0, now - deadline));
+        if (now - submitted > target) {
+            this.missedTargets.increment();
+        }
+    }
+
+    private static class Task<T> {
+        private final Callable<T> callable;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long queuedAt = System.nanoTime();
+
+        private Task(Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        private void run(BotScheduler scheduler) {
+            long start = System.nanoTime();
+            scheduler.queueWait.record(start - this.queuedAt);
+            try {
+                this.future.complete(this.callable.call());
+            } catch (Throwable e) {
+                this.future.completeExceptionally(e);
+            }
+            scheduler.compute.record(System.nanoTime() - start);
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Task<?> task;
+            synchronized (this) {
+                while (this.ready.isEmpty() && !this.closed) {
+                    try {
+                        this.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (this.ready.isEmpty()) {
+                    return;
+                }
+                // Take one task and send the lane to the back of the line.
+                Lane lane = this.ready.pollFirst();
+                task = lane.tasks.pollFirst();
+                if (!lane.tasks.isEmpty()) {
+                    this.ready.addLast(lane);
+                }
+                this.queued--;
+            }
+            task.run(this);
+        }
+    }
+
+    /**
+     * Get the time tasks spent waiting for a worker.
+     *
+     * @return The queue wait histogram.
+     */
+    public LatencyHistogram getQueueWait() {
+        return this.queueWait;
+    }
+
+    /**
+     * Get the time tasks spent running on a worker.
+     *
+     * @return The compute time histogram.
+     */
+    public LatencyHistogram getCompute() {
+        return this.compute;
+    }
+
+    /**
+     * Get the time from submission to answer of moves with a latency target.
+     *
+     * @return The move latency histogram.
+     */
+    public LatencyHistogram getMoveLatency() {
+        return this.moveLatency;
+    }
+
+    /**
+     * Get the number of moves with a latency target that missed it.
+     *
+     * @return The number of missed targets.
+     */
+    public long getMissedTargets() {
+        return this.missedTargets.sum();
+    }
+
+    public synchronized int getQueued() {
+        return this.queued;
+    }
+
+    /**
+     * Stop accepting tasks. Workers finish the tasks already queued and exit.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        this.notifyAll();
+    }
+}
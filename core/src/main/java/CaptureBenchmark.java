@@ -0,0 +1,229 @@
+import java.util.SplittableRandom;
+
+/**
+ * The CaptureBenchmark class. It times one capture, placing a piece and
+ * turning over the adjacent pieces of the opponent, in the ways the code has
+ * done it:
+ * <ul>
+ * <li>table: {@link Rules#flips(int, long)}, a neighbour mask from a table and
+ * one AND, then OR/AND-NOT into the bitboards;</li>
+ * <li>shift: the same on bitboards, with the neighbours found by shifting the
+ * move bit and masking the edge columns;</li>
+ * <li>branchy: a String grid with a bounds check and a String compare for each
+ * of the four neighbours, as MinimaxBot did;</li>
+ * <li>cells: the first controller's startRow/endRow loops over Button-like cell
+ * objects holding their text.</li>
+ * </ul>
+ * The controller's Buttons cannot be created without the JavaFX toolkit, so the
+ * cells stand in for them with the same getText/setText calls.
+ *
+ * Usage: CaptureBenchmark [games] [repeats]
+ *
+ * Every version replays the same random games from the start position, and the
+ * final scores are summed into a checksum that must match between versions.
+ *
+ */
+public class CaptureBenchmark {
+    private static final int PLIES = BitBoard.SQUARES - 8;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        // Random games that fill the board, X moving first.
+        SplittableRandom random = new SplittableRandom(1);
+        int[][] moves = new int[games][PLIES];
+        for (int g = 0; g < games; g++) {
+            long empty = ~(Rules.START_X | Rules.START_O);
+            for (int p = 0; p < PLIES; p++) {
+                moves[g][p] = BitBoard.randomSquare(empty, random);
+                empty &= ~(1L << moves[g][p]);
+            }
+        }
+
+        String[] names = { "table", "shift", "branchy", "cells" };
+        long expected = 0;
+        double tableTime = 0;
+        System.out.printf("%-8s %10s %8s%n", "version", "ns/capture", "relative");
+        for (int v = 0; v < names.length; v++) {
+            long best = Long.MAX_VALUE;
+            long checksum = 0;
+            // The first two runs warm up the JIT.
+            for (int r = 0; r < repeats + 2; r++) {
+                long start = System.nanoTime();
+                checksum = run(v, moves);
+                long time = System.nanoTime() - start;
+                if (r >= 2) {
+                    best = Math.min(best, time);
+                }
+            }
+            if (v == 0) {
+                expected = checksum;
+            } else if (checksum != expected) {
+                System.out.println("CHECKSUM MISMATCH: " + names[v]);
+                System.exit(1);
+            }
+            double perCapture = (double) best / ((long) games * PLIES);
+            if (v == 0) {
+                tableTime = perCapture;
+            }
+            System.out.printf("%-8s %10.2f %7.1fx%n", names[v], perCapture, perCapture / tableTime);
+        }
+    }
+
+    private static long run(int version, int[][] moves) {
+        switch (version) {
+            case 0:
+                return table(moves);
+            case 1:
+                return shift(moves);
+            case 2:
+                return branchy(moves);
+            default:
+                return cells(moves);
+        }
+    }
+
+    private static long table(int[][] moves) {
+        long checksum = 0;
+        for (int[] game : moves) {
+            long mover = Rules.START_X;
+            long other = Rules.START_O;
+            for (int square : game) {
+                long flipped = Rules.flips(square, other);
+                long own = mover | (1L << square) | flipped;
+                mover = other & ~flipped;
+                other = own;
+            }
+            checksum = checksum * 31 + Long.bitCount(mover);
+        }
+        return checksum;
+    }
+
+    private static long shift(int[][] moves) {
+        long checksum = 0;
+        for (int[] game : moves) {
+            long mover = Rules.START_X;
+            long other = Rules.START_O;
+            for (int square : game) {
+                long move = 1L << square;
+                long flipped = BitBoard.neighbours(move) & other;
+                long own = mover | move | flipped;
+                mover = other & ~flipped;
+                other = own;
+            }
+            checksum = checksum * 31 + Long.bitCount(mover);
+        }
+        return checksum;
+    }
+
+    private static long branchy(int[][] moves) {
+        long checksum = 0;
+        String[][] board = new String[8][8];
+        for (int[] game : moves) {
+            reset(board);
+            String player = "X";
+            String opponent = "O";
+            for (int square : game) {
+                int i = square / 8;
+                int j = square % 8;
+                board[i][j] = player;
+                if (i - 1 >= 0 && board[i - 1][j].equals(opponent)) {
+                    board[i - 1][j] = player;
+                }
+                if (i + 1 < 8 && board[i + 1][j].equals(opponent)) {
+                    board[i + 1][j] = player;
+                }
+                if (j - 1 >= 0 && board[i][j - 1].equals(opponent)) {
+                    board[i][j - 1] = player;
+                }
+                if (j + 1 < 8 && board[i][j + 1].equals(opponent)) {
+                    board[i][j + 1] = player;
+                }
+                String swap = player;
+                player = opponent;
+                opponent = swap;
+            }
+            checksum = checksum * 31 + Long.bitCount(Rules.bits(board, player));
+        }
+        return checksum;
+    }
+
+    private static long cells(int[][] moves) {
+        long checksum = 0;
+        Cell[][] cells = new Cell[8][8];
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                cells[i][j] = new Cell();
+            }
+        }
+        String[][] start = new String[8][8];
+        reset(start);
+        for (int[] game : moves) {
+            for (int i = 0; i < 8; i++) {
+                for (int j = 0; j < 8; j++) {
+                    cells[i][j].setText(start[i][j]);
+                }
+            }
+            boolean playerXTurn = true;
+            int playerXScore = 4;
+            int playerOScore = 4;
+            for (int square : game) {
+                int i = square / 8;
+                int j = square % 8;
+                cells[i][j].setText(playerXTurn ? "X" : "O");
+                if (playerXTurn) {
+                    playerXScore++;
+                } else {
+                    playerOScore++;
+                }
+
+                int startRow = i - 1 < 0 ? i : i - 1;
+                int endRow = i + 1 >= 8 ? i : i + 1;
+                int startColumn = j - 1 < 0 ? j : j - 1;
+                int endColumn = j + 1 >= 8 ? j : j + 1;
+                for (int x = startRow; x <= endRow; x++) {
+                    if (playerXTurn ? cells[x][j].getText().equals("O") : cells[x][j].getText().equals("X")) {
+                        cells[x][j].setText(playerXTurn ? "X" : "O");
+                        playerXScore += playerXTurn ? 1 : -1;
+                        playerOScore += playerXTurn ? -1 : 1;
+                    }
+                }
+                for (int y = startColumn; y <= endColumn; y++) {
+                    if (playerXTurn ? cells[i][y].getText().equals("O") : cells[i][y].getText().equals("X")) {
+                        cells[i][y].setText(playerXTurn ? "X" : "O");
+                        playerXScore += playerXTurn ? 1 : -1;
+                        playerOScore += playerXTurn ? -1 : 1;
+                    }
+                }
+                playerXTurn = !playerXTurn;
+            }
+            checksum = checksum * 31 + (playerXTurn ? playerXScore : playerOScore);
+        }
+        return checksum;
+    }
+
+    private static void reset(String[][] board) {
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                long b = BitBoard.bit(i, j);
+                board[i][j] = (Rules.START_X & b) != 0 ? "X" : (Rules.START_O & b) != 0 ? "O" : "";
+            }
+        }
+    }
+
+    /**
+     * Stands in for a Button: a mutable cell read and written through its text.
+     */
+    private static class Cell {
+        private String text = "";
+
+        String getText() {
+            return this.text;
+        }
+
+        void setText(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,548 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The Coordinator class. It spreads work units, games or positions, over worker
+ * JVMs on the same machine, so self-play and evaluation are not bound by the
+ * heap and GC of one JVM. It starts the {@link Worker} processes, which connect
+ * back over the loopback interface, and hands out the units line by line.
+ *
+ * Usage: Coordinator games &lt;botA&gt; &lt;botB&gt; [games] [workers] [rounds] [moveMs] [seed] [file]
+ * <br>
+ * Usage: Coordinator positions &lt;bot&gt; [workers] [moveMs] &lt; positions
+ *
+ * The games mode plays a {@link Tournament} and prints its result, and writes
+ * every game to the file as its answer line (see {@link Worker}) when one is
+ * given. The positions mode reads positions as {@link Analyzer} does and
+ * prints the moves in input order.
+ *
+ * A reader thread takes the units from their source, at most WINDOW per worker
+ * ahead of the workers, so a source that blocks, like standard input, holds up
+ * no worker and no answer. Every worker has at most WINDOW units sent and not
+ * answered, enough to keep it busy while an answer travels back. Answers are
+ * handed on from the worker threads, so a slow consumer slows the workers down
+ * instead of piling up answers. An answer the consumer throws for is dropped
+ * and counted, its unit is done all the same. When a worker dies or does not
+ * answer within the timeout, its units are sent again to the others, up to
+ * MAX_ATTEMPTS times each, and a new worker is started in its place.
+ *
+ * Workers get the JVM options of the coordinator, so -D settings of the bots
+ * apply to them. -Dcoordinator.window, -Dcoordinator.timeoutMs and
+ * -Dcoordinator.crashAfter (workers halt after that many units, for testing
+ * the recovery) change the defaults.
+ *
+ */
+public class Coordinator implements AutoCloseable {
+    private static final int WINDOW = Integer.getInteger("coordinator.window", 2);
+    private static final int TIMEOUT_MS = Integer.getInteger("coordinator.timeoutMs", 300_000);
+    private static final int CRASH_AFTER = Integer.getInteger("coordinator.crashAfter", 0);
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * A unit of work on its way to a worker.
+     */
+    private static final class Unit {
+        final long id;
+        final String command;
+        int attempts;
+        long sentAt;
+
+        Unit(long id, String command) {
+            this.id = id;
+            this.command = command;
+        }
+    }
+
+    private final int workers;
+    private final Iterator<String> source;
+    private final Consumer<String> answers;
+    private final ArrayDeque<Unit> retries = new ArrayDeque<>();
+    private final ArrayDeque<Unit> ready = new ArrayDeque<>();
+    private boolean sourceDone;
+    private final Map<Long, Process> processes = new HashMap<>();
+    private long nextId;
+    private int open;
+    private int restartsLeft;
+    private ServerSocket serverSocket;
+
+    private final LatencyHistogram unitLatency = new LatencyHistogram();
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+    private final List<long[]> perWorker = new ArrayList<>();
+    private final List<Thread> serving = new ArrayList<>();
+
+    /**
+     * Create a coordinator. Nothing runs until {@link #run()}.
+     *
+     * @param workers The number of worker processes.
+     * @param source  The units, each a line of the worker protocol with "%d" for
+     *                the id. It is read on a thread of its own as the workers
+     *                make room; a unit that next() throws for is answered with
+     *                an ERR line at once.
+     * @param answers Takes every answer line, from the worker threads, and an
+     *                ERR line for every unit that failed.
+     */
+    public Coordinator(int workers, Iterator<String> source, Consumer<String> answers) {
+        this.workers = workers;
+        this.source = source;
+        this.answers = answers;
+        this.restartsLeft = 2 * workers;
+    }
+
+    /**
+     * Start the workers and hand out every unit.
+     *
+     * @throws IOException If the coordinator cannot listen or start a worker.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void run() throws IOException, InterruptedException {
+        this.serverSocket = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "coordinator-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        Thread reader = new Thread(this::read, "coordinator-read");
+        reader.setDaemon(true);
+        reader.start();
+        for (int w = 0; w < this.workers; w++) {
+            this.spawn(CRASH_AFTER);
+        }
+        synchronized (this) {
+            while (!this.sourceDone || this.open > 0) {
+                // Workers that die before they connect have no thread to notice.
+                this.processes.values().removeIf(process -> !process.isAlive());
+                this.serving.removeIf(thread -> !thread.isAlive());
+                if (this.processes.isEmpty() && this.serving.isEmpty()) {
+                    if (this.restartsLeft == 0) {
+                        throw new IOException("Every worker died, " + this.open + " units left.");
+                    }
+                    this.restartsLeft--;
+                    this.restarts.incrementAndGet();
+                    this.spawn(0);
+                }
+                this.wait(1000);
+            }
+        }
+        // Let every worker thread send QUIT.
+        for (Thread thread : this.threads()) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Take the connections of the workers, each served by its own thread.
+     */
+    private void accept() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                Socket socket = this.serverSocket.accept();
+                long[] counts = new long[1];
+                Thread thread = new Thread(() -> this.serve(socket, counts), "coordinator-worker");
+                thread.setDaemon(true);
+                synchronized (this) {
+                    this.perWorker.add(counts);
+                    this.serving.add(thread);
+                }
+                thread.start();
+            } catch (IOException e) {
+                if (!this.serverSocket.isClosed()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the units from the source, outside the lock, as the workers make
+     * room for them.
+     */
+    private void read() {
+        while (true) {
+            boolean more;
+            try {
+                more = this.source.hasNext();
+            } catch (RuntimeException e) {
+                System.err.println("Cannot read the units: " + e);
+                more = false;
+            }
+            if (!more) {
+                break;
+            }
+            String command = null;
+            String error = null;
+            try {
+                command = this.source.next();
+            } catch (RuntimeException e) {
+                // A unit that cannot be made is answered here, not held against a worker.
+                error = String.valueOf(e.getMessage());
+            }
+            long id;
+            synchronized (this) {
+                while (this.ready.size() >= WINDOW * this.workers) {
+                    try {
+                        this.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                id = this.nextId++;
+                if (error == null) {
+                    this.ready.add(new Unit(id, command));
+                    this.open++;
+                    this.notifyAll();
+                    continue;
+                }
+            }
+            this.failed.incrementAndGet();
+            this.deliver("ERR " + id + " " + error);
+        }
+        synchronized (this) {
+            this.sourceDone = true;
+            this.notifyAll();
+        }
+    }
+
+    private synchronized List<Thread> threads() {
+        return new ArrayList<>(this.serving);
+    }
+
+    /**
+     * Start a worker process with the JVM options and class path of this one.
+     *
+     * @param crashAfter Passed on to the worker, 0 to never crash.
+     */
+    private void spawn(int crashAfter) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("Worker");
+        command.add(String.valueOf(this.serverSocket.getLocalPort()));
+        command.add(String.valueOf(crashAfter));
+        Process process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        synchronized (this) {
+            this.processes.put(process.pid(), process);
+        }
+    }
+
+    /**
+     * Feed one worker until there is no work left or it fails.
+     */
+    private void serve(Socket socket, long[] counts) {
+        ArrayDeque<Unit> sent = new ArrayDeque<>();
+        Process process = null;
+        try (Socket s = socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(s.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            s.setTcpNoDelay(true);
+            s.setSoTimeout(TIMEOUT_MS);
+            String hello = in.readLine();
+            if (hello == null || !hello.startsWith("HELLO ")) {
+                throw new IOException("Not a worker: " + hello);
+            }
+            synchronized (this) {
+                process = this.processes.get(Long.parseLong(hello.substring(6)));
+            }
+            while (true) {
+                while (sent.size() < WINDOW) {
+                    Unit unit = this.take(sent.isEmpty());
+                    if (unit == null) {
+                        break;
+                    }
+                    unit.sentAt = System.nanoTime();
+                    out.println(String.format(unit.command, unit.id));
+                    sent.add(unit);
+                }
+                if (sent.isEmpty()) {
+                    out.println("QUIT");
+                    break;
+                }
+                String line = in.readLine();
+                if (line == null) {
+                    throw new IOException("The worker closed the connection.");
+                }
+                // Workers answer in order.
+                Unit unit = sent.poll();
+                this.unitLatency.record(System.nanoTime() - unit.sentAt);
+                if (line.startsWith("ERR ")) {
+                    this.failed.incrementAndGet();
+                } else {
+                    this.done.incrementAndGet();
+                    counts[0]++;
+                }
+                try {
+                    this.deliver(line);
+                } finally {
+                    this.finish();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Worker failed: " + e);
+            this.recover(sent, process);
+        }
+    }
+
+    /**
+     * Get the next unit: one to send again, or a new one read from the source.
+     *
+     * @param block True to wait while the source may still have units or other
+     *              workers still have units that may come back.
+     *
+     * @return The unit, or null if there is none (left).
+     */
+    private synchronized Unit take(boolean block) {
+        while (true) {
+            if (!this.retries.isEmpty()) {
+                return this.retries.poll();
+            }
+            if (!this.ready.isEmpty()) {
+                // The reader may wait for room.
+                this.notifyAll();
+                return this.ready.poll();
+            }
+            if (!block || (this.sourceDone && this.open == 0)) {
+                return null;
+            }
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Hand an answer line to the consumer. A consumer that throws loses the
+     * line, but neither the unit nor the worker that answered it fail.
+     *
+     * @param line The answer line.
+     */
+    private void deliver(String line) {
+        try {
+            this.answers.accept(line);
+        } catch (RuntimeException e) {
+            this.dropped.incrementAndGet();
+            System.err.println("Answer dropped: " + line + ": " + e);
+        }
+    }
+
+    private synchronized void finish() {
+        this.open--;
+        this.notifyAll();
+    }
+
+    /**
+     * Put the units of a failed worker back for the others, kill the worker and
+     * start another one.
+     */
+    private synchronized void recover(ArrayDeque<Unit> sent, Process process) {
+        for (Unit unit : sent) {
+            if (++unit.attempts < MAX_ATTEMPTS) {
+                this.retries.add(unit);
+                this.retried.incrementAndGet();
+            } else {
+                this.failed.incrementAndGet();
+                this.open--;
+                this.deliver("ERR " + unit.id + " the workers running it died " + MAX_ATTEMPTS + " times");
+            }
+        }
+        if (process != null) {
+            process.destroyForcibly();
+            this.processes.remove(process.pid());
+        }
+        if ((this.open > 0 || !this.sourceDone) && this.restartsLeft > 0) {
+            this.restartsLeft--;
+            this.restarts.incrementAndGet();
+            try {
+                this.spawn(0);
+            } catch (IOException e) {
+                System.err.println("Cannot start a worker: " + e.getMessage());
+            }
+        }
+        this.notifyAll();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Process process : this.processes.values()) {
+            process.destroy();
+        }
+        this.processes.clear();
+        if (this.serverSocket != null) {
+            this.serverSocket.close();
+        }
+    }
+
+    /**
+     * Get the throughput and recovery counts.
+     *
+     * @param seconds The time the run took.
+     *
+     * @return The report, several lines.
+     */
+    public synchronized String report(double seconds) {
+        StringBuilder perWorker = new StringBuilder();
+        for (long[] counts : this.perWorker) {
+            perWorker.append(' ').append(counts[0]);
+        }
+        return String.format("units=%d failed=%d in %.1fs, %.1f units/s, retried=%d, workers started=%d,"
+                + " answers dropped=%d%n  units per worker:%s%n  unit latency: %s", this.done.get(),
+                this.failed.get(), seconds, this.done.get() / seconds, this.retried.get(),
+                this.workers + this.restarts.get(), this.dropped.get(), perWorker, this.unitLatency);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || !(args[0].equals("games") || args[0].equals("positions"))) {
+            System.err.println("Usage: Coordinator games <botA> <botB> [games] [workers] [rounds] [moveMs] [seed]"
+                    + " [file]");
+            System.err.println("       Coordinator positions <bot> [workers] [moveMs] < positions");
+            System.exit(2);
+        }
+        if (args[0].equals("games")) {
+            games(args);
+        } else {
+            positions(args);
+        }
+    }
+
+    /**
+     * Play a tournament on the workers.
+     */
+    private static void games(String[] args) throws Exception {
+        String botA = args[1];
+        String botB = args.length > 2 ? args[2] : "minimax";
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int workers = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int rounds = args.length > 5 ? Integer.parseInt(args[5]) : 28;
+        long moveMs = args.length > 6 ? Long.parseLong(args[6]) : 0;
+        long seed = args.length > 7 ? Long.parseLong(args[7]) : 1;
+        PrintStream file = args.length > 8 ? new PrintStream(Files.newOutputStream(Paths.get(args[8])), false,
+                StandardCharsets.UTF_8) : null;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Iterator<String> source = new Iterator<String>() {
+            private int game;
+
+            @Override
+            public boolean hasNext() {
+                return this.game < games;
+            }
+
+            @Override
+            public String next() {
+                int g = this.game++;
+                // The same sides and starting player as Tournament.run.
+                return String.format("GAME %%d %s %s %d %d %d %b %b", botA, botB, rounds, moveMs, random.nextLong(),
+                        (g & 1) == 0, (g & 2) != 0);
+            }
+        };
+        Tournament.Result result = new Tournament.Result();
+        AtomicLong moves = new AtomicLong();
+        Consumer<String> answers = line -> {
+            // A game without moves ends in an empty field, which must stay a field.
+            String[] parts = line.split(" ", -1);
+            if (parts[0].equals("ERR")) {
+                System.err.println("Game failed: " + line);
+                return;
+            }
+            synchronized (result) {
+                result.add(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                moves.addAndGet(parts[5].length());
+                if (file != null) {
+                    file.println(line);
+                }
+            }
+        };
+
+        long start = System.nanoTime();
+        try (Coordinator coordinator = new Coordinator(workers, source, answers)) {
+            coordinator.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s vs %s: games=%d wins=%d losses=%d draws=%d score=%.3f margin=%+.2f%n", botA, botB,
+                    result.games, result.wins, result.losses, result.draws, result.score(), result.meanMargin());
+            System.out.printf("%d workers, %.0f moves/s%n", workers, moves.get() / seconds);
+            System.out.println(coordinator.report(seconds));
+        } finally {
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    /**
+     * Answer positions from standard input on the workers, in input order.
+     */
+    private static void positions(String[] args) throws Exception {
+        String bot = args[1];
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long moveMs = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        Iterator<String> lines = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                .lines().filter(line -> !line.isBlank()).iterator();
+        Iterator<String> source = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public String next() {
+                String[] parts = lines.next().trim().split("\\s+");
+                String[][] board = Analyzer.parse(parts[0]);
+                long empty = ~(Rules.bits(board, "X") | Rules.bits(board, "O"));
+                if (empty == 0) {
+                    throw new IllegalArgumentException("The board is full.");
+                }
+                int roundsLeft = Analyzer.roundsLeft(parts, empty);
+                String player = Analyzer.side(parts);
+                return String.format("POSITION %%d %s %d %s %d %s", bot, moveMs, parts[0], roundsLeft, player);
+            }
+        };
+        // Answers come in any order, so hold them until the ones before are in.
+        TreeMap<Long, String> pending = new TreeMap<>();
+        long[] next = new long[1];
+        Consumer<String> answers = line -> {
+            String[] parts = line.split(" ", 3);
+            String move = parts[0].equals("ERR") ? "ERR " + parts[2] : parts[2].replaceFirst(" (\\d+) .*", ",$1");
+            synchronized (pending) {
+                pending.put(Long.parseLong(parts[1]), move);
+                while (!pending.isEmpty() && pending.firstKey() == next[0]) {
+                    System.out.println(pending.pollFirstEntry().getValue());
+                    next[0]++;
+                }
+            }
+        };
+
+        long start = System.nanoTime();
+        try (Coordinator coordinator = new Coordinator(workers, source, answers)) {
+            coordinator.run();
+            System.err.println(coordinator.report((System.nanoTime() - start) / 1e9));
+        }
+    }
+}
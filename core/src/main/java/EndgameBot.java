@@ -0,0 +1,179 @@
+/**
+ * The EndgameBot class. It solves the endgame: with few enough empty squares
+ * left it searches every line to the end of the game with alpha-beta and plays
+ * a move that is proven best. Earlier in the game, or when the deadline passes
+ * before the search is done, it plays the move that turns over the most pieces.
+ *
+ * Lines that reach a position solved by the {@link Tablebase} are not searched
+ * further.
+ *
+ */
+public class EndgameBot extends Bot {
+    /** The most empty squares the bot tries to solve. */
+    public static final int MAX_EMPTIES = 16;
+    /** How many positions are searched between two looks at the clock. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final Tablebase tablebase;
+    private long deadline = NO_DEADLINE;
+    private boolean timeUp;
+    private long nodes;
+    private boolean proven;
+    private int depthReached;
+
+    public EndgameBot() {
+        this(Tablebase.standard());
+    }
+
+    /**
+     * Create an endgame bot.
+     *
+     * @param tablebase The solved endgames to stop at, usually
+     *                  {@link Tablebase#standard()}.
+     */
+    public EndgameBot(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Solve the position if it has at most MAX_EMPTIES empty squares and the game
+     * goes on until the board is full, otherwise take the most pieces.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The proven best move, or the greedy move.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long own = bits(board, "O");
+        long opp = bits(board, "X");
+        long empty = ~(own | opp);
+        this.proven = false;
+        this.depthReached = 0;
+        if (empty == 0) {
+            return new int[] { 0, 0 };
+        }
+        int greedy = Long.numberOfTrailingZeros(empty);
+        for (long e = empty; e != 0; e &= e - 1) {
+            int square = Long.numberOfTrailingZeros(e);
+            if (Long.bitCount(Rules.flips(square, opp)) > Long.bitCount(Rules.flips(greedy, opp))) {
+                greedy = square;
+            }
+        }
+        int empties = Long.bitCount(empty);
+        // The bot may end the round, so at least 2 * roundsLeft - 1 moves are left.
+        if (empties > MAX_EMPTIES || 2 * roundsLeft - 1 < empties) {
+            return toMove(greedy);
+        }
+
+        this.deadline = deadline;
+        this.timeUp = false;
+        int best = greedy;
+        int alpha = -BitBoard.SQUARES - 1;
+        for (int flips = 4; flips >= 0; flips--) {
+            for (long e = empty; e != 0; e &= e - 1) {
+                int square = Long.numberOfTrailingZeros(e);
+                long flipped = Rules.flips(square, opp);
+                if (Long.bitCount(flipped) != flips) {
+                    continue;
+                }
+                int gain = 1 + 2 * flips;
+                int score = gain - this.search(opp & ~flipped, own | (1L << square) | flipped,
+                        -BitBoard.SQUARES - 1, gain - alpha);
+                if (this.timeUp) {
+                    return toMove(greedy);
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    best = square;
+                }
+            }
+        }
+        this.proven = true;
+        this.depthReached = empties;
+        return toMove(best);
+    }
+
+    /**
+     * Solve a position exactly, without a tablebase or a deadline. The
+     * benchmarks and the tablebase generator grade their positions with it.
+     *
+     * @param own   The squares of the player to move.
+     * @param opp   The squares of the other player.
+     * @param alpha The gain the player to move is assured of.
+     * @param beta  The gain the other player lets the player to move have.
+     *
+     * @return The final piece difference minus the current one for own, or a
+     *         bound when it is outside the window.
+     */
+    static int solve(long own, long opp, int alpha, int beta) {
+        return new EndgameBot(Tablebase.NONE).search(own, opp, alpha, beta);
+    }
+
+    /**
+     * Search every line to the end of the game, trying the moves that turn over
+     * the most pieces first.
+     *
+     * @param own   The squares of the player to move.
+     * @param opp   The squares of the other player.
+     * @param alpha The gain the player to move is assured of.
+     * @param beta  The gain the other player lets the player to move have.
+     *
+     * @return The final piece difference minus the current one for own, or a
+     *         bound when it is outside the window.
+     */
+    private int search(long own, long opp, int alpha, int beta) {
+        long empty = ~(own | opp);
+        if (empty == 0) {
+            return 0;
+        }
+        if (++this.nodes % CHECK_INTERVAL == 0 && isExpired(this.deadline)) {
+            this.timeUp = true;
+        }
+        if (this.timeUp) {
+            return 0;
+        }
+        int entry = this.tablebase.probe(own, opp);
+        if (entry != Tablebase.NOT_FOUND) {
+            return Tablebase.gain(entry);
+        }
+        for (int flips = 4; flips >= 0; flips--) {
+            for (long e = empty; e != 0; e &= e - 1) {
+                int square = Long.numberOfTrailingZeros(e);
+                long flipped = Rules.flips(square, opp);
+                if (Long.bitCount(flipped) != flips) {
+                    continue;
+                }
+                // The window of the reply is shifted by what this move gains.
+                int gain = 1 + 2 * flips;
+                int score = gain - this.search(opp & ~flipped, own | (1L << square) | flipped, gain - beta,
+                        gain - alpha);
+                if (score >= beta) {
+                    return score;
+                }
+                alpha = Math.max(alpha, score);
+            }
+        }
+        return alpha;
+    }
+
+    private static int[] toMove(int square) {
+        return new int[] { square / BitBoard.COL, square % BitBoard.COL };
+    }
+
+    @Override
+    public int lastDepth() {
+        return this.depthReached;
+    }
+
+    @Override
+    public boolean isProven() {
+        return this.proven;
+    }
+}
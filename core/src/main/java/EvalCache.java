@@ -0,0 +1,227 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The EvalCache class. It is a bounded, lock-free cache from a 64-bit position
+ * hash to a 64-bit value, meant to be shared by every bot and every game in the
+ * process through {@link #shared()}.
+ *
+ * Entries live off the heap in one direct buffer from the {@link MemoryBudget},
+ * with open addressing: a key may sit in any of the BUCKET slots after its home
+ * slot. Each slot stores key ^ value next to the value, so a slot torn by two
+ * threads writing at once fails the key check and reads as a miss instead of
+ * returning a wrong value. The reference bits of all slots follow the slots. When a bucket is full the
+ * clock (second chance) policy picks the victim: a hit sets the slot's reference
+ * bit, and the sweep clears bits until it finds a slot that was not used since.
+ *
+ * Values are opaque to the cache. Bots that share it must mix a salt of their own
+ * into the key (see {@link Zobrist#mix(long, long)}) so their values never mix.
+ *
+ */
+public final class EvalCache {
+    public static final long MISS = Long.MIN_VALUE;
+
+    private static final int BUCKET = 4;
+    /** The bytes of a slot: check and value, and one byte for the reference bit. */
+    public static final int SLOT_BYTES = 2 * Long.BYTES + 1;
+
+    private final int mask;
+    private final ByteBuffer slots;
+    private final int referenced;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache holding up to capacity entries, charged to the global
+     * {@link MemoryBudget}.
+     *
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public EvalCache(int capacity) {
+        this(MemoryBudget.global(), capacity);
+    }
+
+    /**
+     * Create a cache holding up to capacity entries. When the budget has less
+     * left, the cache gets the largest power of two of entries that fits.
+     *
+     * @param budget   The budget the memory is charged to.
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public EvalCache(MemoryBudget budget, int capacity) {
+        int size = Integer.highestOneBit(Math.max(BUCKET, capacity - 1) << 1);
+        budget.reclaim((long) size * SLOT_BYTES);
+        while (size > BUCKET && (long) size * SLOT_BYTES > budget.available()) {
+            size >>= 1;
+        }
+        this.slots = budget.allocate("EvalCache", (long) size * SLOT_BYTES, BUCKET * SLOT_BYTES);
+        size = Integer.highestOneBit(this.slots.capacity() / SLOT_BYTES);
+        this.mask = size - 1;
+        this.referenced = 2 * Long.BYTES * size;
+    }
+
+    /**
+     * Get the cache shared by every bot in the process.
+     *
+     * @return The shared cache.
+     */
+    public static EvalCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Look up a key.
+     *
+     * @param key The position hash.
+     *
+     * @return The stored value, or MISS when the key is not in the cache.
+     */
+    public long get(long key) {
+        key = nonZero(key);
+        int home = (int) (key ^ (key >>> 32)) & this.mask;
+        for (int k = 0; k < BUCKET; k++) {
+            int slot = (home + k) & this.mask;
+            long value = this.slots.getLong(16 * slot + 8);
+            if ((this.slots.getLong(16 * slot) ^ value) == key) {
+                this.slots.put(this.referenced + slot, (byte) 1);
+                this.hits.increment();
+                return value;
+            }
+        }
+        this.misses.increment();
+        return MISS;
+    }
+
+    /**
+     * Store a value, replacing the old value of the key if there is one.
+     *
+     * @param key   The position hash.
+     * @param value The value to store. Must not be MISS.
+     */
+    public void put(long key, long value) {
+        key = nonZero(key);
+        int home = (int) (key ^ (key >>> 32)) & this.mask;
+        int victim = -1;
+        for (int k = 0; k < BUCKET; k++) {
+            int slot = (home + k) & this.mask;
+            long check = this.slots.getLong(16 * slot);
+            long old = this.slots.getLong(16 * slot + 8);
+            if ((check ^ old) == key || (check == 0 && old == 0)) {
+                victim = slot;
+                break;
+            }
+        }
+        if (victim < 0) {
+            victim = this.sweep(home);
+            this.evictions.increment();
+        }
+        this.slots.putLong(16 * victim + 8, value);
+        this.slots.putLong(16 * victim, key ^ value);
+        this.slots.put(this.referenced + victim, (byte) 0);
+        this.stores.increment();
+    }
+
+    /**
+     * Run the clock hand over a full bucket and return the first slot without
+     * its reference bit, clearing the bits it passes over.
+     *
+     * @param home The first slot of the bucket.
+     *
+     * @return The slot to evict.
+     */
+    private int sweep(int home) {
+        for (int k = 0; k < BUCKET; k++) {
+            int slot = (home + k) & this.mask;
+            if (this.slots.get(this.referenced + slot) == 0) {
+                return slot;
+            }
+            this.slots.put(this.referenced + slot, (byte) 0);
+        }
+        // Every slot was referenced, and is not anymore after the sweep.
+        return home;
+    }
+
+    /**
+     * Remove every entry and reset the counters.
+     */
+    public void clear() {
+        int b = 0;
+        for (; b + Long.BYTES <= this.slots.capacity(); b += Long.BYTES) {
+            this.slots.putLong(b, 0L);
+        }
+        for (; b < this.slots.capacity(); b++) {
+            this.slots.put(b, (byte) 0);
+        }
+        this.hits.reset();
+        this.misses.reset();
+        this.stores.reset();
+        this.evictions.reset();
+    }
+
+    /**
+     * Key 0 with value 0 would look like an empty slot.
+     */
+    private static long nonZero(long key) {
+        return key == 0 ? 1 : key;
+    }
+
+    public int capacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Get the memory the cache takes.
+     *
+     * @return The size of its buffer in bytes.
+     */
+    public long bytes() {
+        return this.slots.capacity();
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    public long stores() {
+        return this.stores.sum();
+    }
+
+    public long evictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Get the share of lookups that found their key.
+     *
+     * @return The hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    public double hitRate() {
+        long h = this.hits();
+        long total = h + this.misses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "EvalCache[capacity=%d, %.1fMB, hits=%d, misses=%d, hitRate=%.3f, stores=%d, evictions=%d]",
+                this.capacity(), (double) this.bytes() / MemoryBudget.MB, this.hits(), this.misses(), this.hitRate(),
+                this.stores(), this.evictions());
+    }
+
+    /**
+     * Holder so the shared cache is only allocated when first used. It takes
+     * half of the global budget.
+     */
+    private static final class Shared {
+        static final EvalCache INSTANCE = new EvalCache(
+                Integer.highestOneBit((int) Math.min(1 << 30, MemoryBudget.global().limit() / 2 / SLOT_BYTES)));
+    }
+}
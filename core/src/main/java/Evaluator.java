@@ -0,0 +1,68 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The Evaluator interface. An evaluator scores a position for the search bots
+ * without searching further.
+ *
+ * Positions are scored just after a move, from the view of the player who made
+ * it, with the other player to move next. The score is the expected final piece
+ * difference of that player, in hundredths of a piece (see UNIT). Evaluators
+ * are called from many threads and must not change state while scoring.
+ *
+ */
+public interface Evaluator {
+    /** The score of one piece. */
+    int UNIT = 100;
+
+    /** The piece difference now, own minus opponent. */
+    Evaluator MATERIAL = (own, opp) -> Rules.score(own, opp) * UNIT;
+
+    /**
+     * Score a position.
+     *
+     * @param own The squares of the player who just moved.
+     * @param opp The squares of the player to move.
+     *
+     * @return The expected final piece difference for own, in UNITs.
+     */
+    int evaluate(long own, long opp);
+
+    /**
+     * Get the evaluator of the bots that use a trained network: the n-tuple
+     * network in the file named by the bot.weights system property (default
+     * ntuple.bin), or MATERIAL if there is no such file. The file is mapped once
+     * and shared.
+     *
+     * @return The evaluator.
+     *
+     * @throws UncheckedIOException If the file exists but cannot be read.
+     */
+    static Evaluator standard() {
+        return Standard.EVALUATOR;
+    }
+
+    /**
+     * Holds the standard evaluator, loaded on first use.
+     */
+    final class Standard {
+        private static final Evaluator EVALUATOR = load(Paths.get(System.getProperty("bot.weights", "ntuple.bin")));
+
+        private Standard() {
+        }
+
+        private static Evaluator load(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return MATERIAL;
+            }
+            try {
+                return NTupleNetwork.load(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameLog class. It reads and appends finished games in the format of
+ * {@link ReplayHarness} records, one game after the other in one file: every
+ * game starts with a comment line, then the header lines bot, rounds and
+ * botFirst, then one line per move, "X row col" or "O row col". Lines it does
+ * not know, like the seed of a record, are skipped, so a ReplayHarness record
+ * is a log of one game.
+ *
+ */
+public final class GameLog {
+    /**
+     * One logged game.
+     */
+    public static final class Game {
+        public final String bot;
+        public final int rounds;
+        public final boolean botFirst;
+        /** The squares of the moves as bit indexes, in the order played. */
+        public final int[] squares;
+        /** True for the moves of X, by move. */
+        public final boolean[] byX;
+
+        Game(String bot, int rounds, boolean botFirst, int[] squares, boolean[] byX) {
+            this.bot = bot;
+            this.rounds = rounds;
+            this.botFirst = botFirst;
+            this.squares = squares;
+            this.byX = byX;
+        }
+    }
+
+    private GameLog() {
+    }
+
+    /**
+     * Append a game to a log, creating the file if needed.
+     *
+     * @param file     The log.
+     * @param bot      The name of the bot playing O.
+     * @param rounds   The number of rounds of the game.
+     * @param botFirst True if the bot moved first.
+     * @param squares  The squares of the moves as bit indexes, in the order
+     *                 played; X and O take turns from the first mover.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public static void append(Path file, String bot, int rounds, boolean botFirst, List<Integer> squares)
+            throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            out.write("# game\nbot " + bot + "\nrounds " + rounds + "\nbotFirst " + botFirst + "\n");
+            boolean xTurn = !botFirst;
+            for (int square : squares) {
+                out.write((xTurn ? "X " : "O ") + square / BitBoard.COL + " " + square % BitBoard.COL + "\n");
+                xTurn = !xTurn;
+            }
+        }
+    }
+
+    /**
+     * Read every game of a log.
+     *
+     * @param file The log.
+     *
+     * @return The games, in the order of the file.
+     *
+     * @throws IOException If the file cannot be read or a line is malformed.
+     */
+    public static List<Game> read(Path file) throws IOException {
+        List<Game> games = new ArrayList<>();
+        String bot = "";
+        int rounds = 0;
+        boolean botFirst = false;
+        List<Integer> squares = new ArrayList<>();
+        List<Boolean> byX = new ArrayList<>();
+        int number = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            number++;
+            String[] parts = line.trim().split("\\s+");
+            try {
+                switch (parts[0]) {
+                    case "#":
+                        if (!squares.isEmpty()) {
+                            games.add(game(bot, rounds, botFirst, squares, byX));
+                        }
+                        break;
+                    case "bot":
+                        bot = parts[1];
+                        break;
+                    case "rounds":
+                        rounds = Integer.parseInt(parts[1]);
+                        break;
+                    case "botFirst":
+                        botFirst = Boolean.parseBoolean(parts[1]);
+                        break;
+                    case "X":
+                    case "O":
+                        squares.add(BitBoard.square(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                        byX.add(parts[0].equals("X"));
+                        break;
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                throw new IOException(file + ":" + number + ": malformed line: " + line, e);
+            }
+        }
+        if (!squares.isEmpty()) {
+            games.add(game(bot, rounds, botFirst, squares, byX));
+        }
+        return games;
+    }
+
+    /**
+     * Make a game of the moves read so far and clear them for the next one.
+     */
+    private static Game game(String bot, int rounds, boolean botFirst, List<Integer> squares, List<Boolean> byX) {
+        int[] moves = new int[squares.size()];
+        boolean[] players = new boolean[squares.size()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = squares.get(i);
+            players[i] = byX.get(i);
+        }
+        squares.clear();
+        byX.clear();
+        return new Game(bot, rounds, botFirst, moves, players);
+    }
+}
@@ -0,0 +1,296 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameServer class. It hosts many headless games at once over a local,
+ * line based socket protocol. Every connection plays one game at a time, with
+ * the client as player X and a bot as player O.
+ *
+ * Commands, one per line:
+ * <pre>
+ * NEW &lt;bot&gt; &lt;rounds&gt; &lt;botFirst&gt;   start a game, bot is a name for {@link Bot#create(String)}
+ * MOVE &lt;row&gt; &lt;col&gt;                 play X there, then let the bot reply
+ * RETRY                             let the bot move again after its turn failed
+ * SHOW                              show the game again
+ * QUIT                              close the connection
+ * </pre>
+ * A game has 1 to {@link GameSession#MAX_ROUNDS} rounds, as in the game window.
+ * Every command is answered with one line, either an error
+ * <pre>
+ * ERR &lt;message&gt;
+ * </pre>
+ * or the state of the game
+ * <pre>
+ * STATE &lt;board&gt; &lt;xScore&gt; &lt;oScore&gt; &lt;roundsLeft&gt; &lt;X|O|OVER&gt; &lt;lastBotMove&gt;
+ * </pre>
+ * where board is 64 characters of X, O and '.', row by row, and lastBotMove is
+ * "row,col" or "-".
+ *
+ * When the bot cannot move, for example because the bot queue is full, the
+ * answer is an ERR line and the game waits with O to move: X's move stays
+ * played, and RETRY asks the bot again.
+ *
+ * Connections run on virtual threads when the JVM has them, so thousands of
+ * idle connections cost little. Bot moves run on a {@link BotScheduler}.
+ *
+ */
+public class GameServer implements AutoCloseable {
+    private final int port;
+    private final BotScheduler scheduler;
+    private final long moveTarget;
+    private final ExecutorService connections = newPerTaskExecutor();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong gamesStarted = new AtomicLong();
+    private ServerSocket serverSocket;
+
+    /**
+     * Create a server. Nothing is bound until {@link #start()}.
+     *
+     * @param port      The port to listen on, 0 for any free port.
+     * @param scheduler The scheduler running the bot moves.
+     */
+    public GameServer(int port, BotScheduler scheduler) {
+        this(port, scheduler, 0);
+    }
+
+    /**
+     * Create a server whose bots answer within a latency target. Nothing is bound
+     * until {@link #start()}.
+     *
+     * @param port       The port to listen on, 0 for any free port.
+     * @param scheduler  The scheduler running the bot moves.
+     * @param moveTarget The bot move latency target in nanoseconds, 0 for none.
+     */
+    public GameServer(int port, BotScheduler scheduler, long moveTarget) {
+        this.port = port;
+        this.scheduler = scheduler;
+        this.moveTarget = moveTarget;
+    }
+
+    /**
+     * Bind to the loopback address and start accepting connections.
+     *
+     * @return The port the server listens on.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public int start() throws IOException {
+        this.serverSocket = new ServerSocket(this.port, 1024, InetAddress.getLoopbackAddress());
+        new Thread(this::accept, "game-server-accept").start();
+        return this.serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                Socket socket = this.serverSocket.accept();
+                this.connections.execute(() -> this.serve(socket));
+            } catch (IOException e) {
+                if (!this.serverSocket.isClosed()) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Serve one connection until the client quits or disconnects.
+     *
+     * @param socket The connection.
+     */
+    private void serve(Socket socket) {
+        this.activeSessions.incrementAndGet();
+        try (Socket s = socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(s.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            s.setTcpNoDelay(true);
+            Connection connection = new Connection(this.scheduler.newLane());
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = connection.handle(line.trim());
+                out.println(reply);
+                if (reply.equals("BYE")) {
+                    break;
+                }
+            }
+        } catch (SocketException e) {
+            // The client went away.
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        } finally {
+            this.activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * The game state of one connection. Only its own connection thread uses it.
+     */
+    private class Connection {
+        private final BotScheduler.Lane lane;
+        private GameSession session;
+        private Bot bot;
+        private String lastBotMove = "-";
+
+        private Connection(BotScheduler.Lane lane) {
+            this.lane = lane;
+        }
+
+        private String handle(String line) {
+            String[] args = line.split("\\s+");
+            try {
+                switch (args[0].toUpperCase()) {
+                    case "NEW":
+                        if (args.length != 4) {
+                            return "ERR usage: NEW <bot> <rounds> <botFirst>";
+                        }
+                        int rounds = Integer.parseInt(args[2]);
+                        if (rounds < 1 || rounds > GameSession.MAX_ROUNDS) {
+                            return "ERR rounds must be 1 to " + GameSession.MAX_ROUNDS;
+                        }
+                        this.bot = Bot.create(args[1]);
+                        this.session = new GameSession(rounds, Boolean.parseBoolean(args[3]));
+                        this.lastBotMove = "-";
+                        GameServer.this.gamesStarted.incrementAndGet();
+                        if (this.session.isBotFirst()) {
+                            this.moveBot();
+                        }
+                        return this.state();
+                    case "MOVE":
+                        if (this.session == null) {
+                            return "ERR no game, send NEW first";
+                        }
+                        if (args.length != 3) {
+                            return "ERR usage: MOVE <row> <col>";
+                        }
+                        if (!this.session.isPlayerXTurn()) {
+                            return "ERR not your turn, send RETRY to let the bot move";
+                        }
+                        this.session.play(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+                        if (!this.session.isOver()) {
+                            this.moveBot();
+                        }
+                        return this.state();
+                    case "RETRY":
+                        if (this.session == null) {
+                            return "ERR no game, send NEW first";
+                        }
+                        if (this.session.isOver() || this.session.isPlayerXTurn()) {
+                            return "ERR the bot is not to move";
+                        }
+                        this.moveBot();
+                        return this.state();
+                    case "SHOW":
+                        return this.session == null ? "ERR no game, send NEW first" : this.state();
+                    case "QUIT":
+                        return "BYE";
+                    default:
+                        return "ERR unknown command: " + args[0];
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return "ERR " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "ERR interrupted";
+            } catch (ExecutionException e) {
+                return "ERR bot failed: " + e.getCause() + ", send RETRY";
+            }
+        }
+
+        private void moveBot() throws InterruptedException, ExecutionException {
+            String[][] board = this.session.snapshot();
+            int roundsLeft = this.session.getRoundsLeft();
+            int[] move;
+            if (GameServer.this.moveTarget > 0) {
+                move = this.lane.submitMove(this.bot, board, roundsLeft, GameServer.this.moveTarget).get();
+            } else {
+                move = this.lane.submit(() -> this.bot.move(board, roundsLeft)).get();
+            }
+            try {
+                this.session.play(move[0], move[1]);
+            } catch (RuntimeException e) {
+                // No move or an illegal one: the turn failed like a bot that threw.
+                throw new ExecutionException(e);
+            }
+            this.lastBotMove = move[0] + "," + move[1];
+        }
+
+        private String state() {
+            StringBuilder sb = new StringBuilder(100);
+            sb.append("STATE ");
+            for (int i = 0; i < GameSession.ROW; i++) {
+                for (int j = 0; j < GameSession.COL; j++) {
+                    String p = this.session.get(i, j);
+                    sb.append(p.isEmpty() ? '.' : p.charAt(0));
+                }
+            }
+            sb.append(' ').append(this.session.getPlayerXScore());
+            sb.append(' ').append(this.session.getPlayerOScore());
+            sb.append(' ').append(this.session.getRoundsLeft());
+            sb.append(' ').append(this.session.isOver() ? "OVER" : this.session.isPlayerXTurn() ? "X" : "O");
+            sb.append(' ').append(this.lastBotMove);
+            return sb.toString();
+        }
+    }
+
+    public int getActiveSessions() {
+        return this.activeSessions.get();
+    }
+
+    public long getGamesStarted() {
+        return this.gamesStarted.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.serverSocket != null) {
+            this.serverSocket.close();
+        }
+        this.connections.shutdownNow();
+    }
+
+    /**
+     * Create an executor that starts a thread per task, virtual if the JVM
+     * supports them and a cached pool of platform threads otherwise.
+     *
+     * @return The executor.
+     */
+    static ExecutorService newPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Run a server until the process is killed.
+     *
+     * @param args [port] [botThreads] [maxQueued] [moveTargetMs]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxQueued = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        long moveTarget = args.length > 3 ? Long.parseLong(args[3]) * 1_000_000L : 0;
+        GameServer server = new GameServer(port, new BotScheduler(threads, maxQueued), moveTarget);
+        System.out.println("Listening on 127.0.0.1:" + server.start() + ", bot memory budget "
+                + MemoryBudget.global().limit() / MemoryBudget.MB + "MB");
+    }
+}
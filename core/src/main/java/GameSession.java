@@ -0,0 +1,180 @@
+/**
+ * The GameSession class. It holds the rules and state of one game without any
+ * UI, so the same game can be played in a window by OutputFrameController or
+ * headless by GameServer.
+ *
+ * Player X and player O take turns placing a piece on an empty square, see
+ * {@link Rules}.
+ *
+ */
+public class GameSession {
+    public static final int ROW = BitBoard.ROW;
+    public static final int COL = BitBoard.COL;
+    /** The most rounds a game can have: after that many the 56 empty squares of the start are taken. */
+    public static final int MAX_ROUNDS = (BitBoard.SQUARES - Long.bitCount(Rules.START_X | Rules.START_O)) / 2;
+
+    private long playerX;
+    private long playerO;
+    private boolean playerXTurn;
+    private int roundsLeft;
+    private final boolean isBotFirst;
+
+    /**
+     * Start a game with 4 X's in the bottom left corner and 4 O's in the top right
+     * corner.
+     *
+     * @param rounds     The number of rounds to be played.
+     * @param isBotFirst True if the bot (O) moves first, false otherwise.
+     */
+    public GameSession(int rounds, boolean isBotFirst) {
+        this.playerX = Rules.START_X;
+        this.playerO = Rules.START_O;
+        this.roundsLeft = rounds;
+        this.isBotFirst = isBotFirst;
+        this.playerXTurn = !isBotFirst;
+    }
+
+    /**
+     * Place the piece of the player to move and turn over adjacent pieces of the
+     * other player.
+     *
+     * @param i The row of the move.
+     * @param j The column of the move.
+     *
+     * @return The squares that changed, the new piece and every turned piece.
+     *
+     * @throws IllegalStateException    If the game is over.
+     * @throws IllegalArgumentException If the square is outside the board or not
+     *                                  empty.
+     */
+    public long play(int i, int j) {
+        if (this.isOver()) {
+            throw new IllegalStateException("The game is over.");
+        }
+        if (i < 0 || i >= ROW || j < 0 || j >= COL) {
+            throw new IllegalArgumentException("Invalid coordinates: " + i + " " + j);
+        }
+        int square = BitBoard.square(i, j);
+        if (!Rules.isLegal(square, this.playerX | this.playerO)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + i + " " + j);
+        }
+
+        long changed;
+        if (this.playerXTurn) {
+            changed = Rules.changed(square, this.playerO);
+            this.playerX |= changed;
+            this.playerO &= ~changed;
+        } else {
+            changed = Rules.changed(square, this.playerX);
+            this.playerO |= changed;
+            this.playerX &= ~changed;
+        }
+
+        if (Rules.endsRound(this.playerXTurn, this.isBotFirst)) {
+            this.roundsLeft--;
+        }
+        this.playerXTurn = !this.playerXTurn;
+        return changed;
+    }
+
+    /**
+     * Get the piece on a square.
+     *
+     * @param i The row of the square.
+     * @param j The column of the square.
+     *
+     * @return "X", "O" or "" for an empty square.
+     */
+    public String get(int i, int j) {
+        long b = BitBoard.bit(i, j);
+        if ((this.playerX & b) != 0) {
+            return "X";
+        }
+        if ((this.playerO & b) != 0) {
+            return "O";
+        }
+        return "";
+    }
+
+    /**
+     * Check whether a square is empty.
+     *
+     * @param i The row of the square.
+     * @param j The column of the square.
+     *
+     * @return True if neither player has a piece on the square.
+     */
+    public boolean isEmpty(int i, int j) {
+        return ((this.playerX | this.playerO) & BitBoard.bit(i, j)) == 0;
+    }
+
+    /**
+     * Copy the board in the text form the bots read.
+     *
+     * @return The board, each square holding "X", "O" or "".
+     */
+    public String[][] snapshot() {
+        return Rules.toBoard(this.playerX, this.playerO);
+    }
+
+    /**
+     * Copy the board as seen by a bot playing the given side. Bots always play O,
+     * so for player X the pieces are swapped.
+     *
+     * @param player The player to move, "X" or "O".
+     *
+     * @return The board, with the pieces of player shown as "O".
+     */
+    public String[][] snapshotFor(String player) {
+        return player.equals("X") ? Rules.toBoard(this.playerO, this.playerX) : this.snapshot();
+    }
+
+    /**
+     * Check whether the game is over: every round is played or the board is
+     * full.
+     *
+     * @return True if no move is left.
+     */
+    public boolean isOver() {
+        return this.roundsLeft <= 0 || (this.playerX | this.playerO) == BitBoard.FULL;
+    }
+
+    public boolean isPlayerXTurn() {
+        return this.playerXTurn;
+    }
+
+    public boolean isBotFirst() {
+        return this.isBotFirst;
+    }
+
+    public int getRoundsLeft() {
+        return this.roundsLeft;
+    }
+
+    public long getPlayerX() {
+        return this.playerX;
+    }
+
+    public long getPlayerO() {
+        return this.playerO;
+    }
+
+    public int getPlayerXScore() {
+        return Long.bitCount(this.playerX);
+    }
+
+    public int getPlayerOScore() {
+        return Long.bitCount(this.playerO);
+    }
+
+    /**
+     * Get the winner of a finished game.
+     *
+     * @return "X", "O" or "" for a tie.
+     */
+    public String getWinner() {
+        int x = this.getPlayerXScore();
+        int o = this.getPlayerOScore();
+        return x > o ? "X" : o > x ? "O" : "";
+    }
+}
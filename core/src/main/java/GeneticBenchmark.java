@@ -0,0 +1,72 @@
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The GeneticBenchmark class. It measures how fast GeneticBot evolves on 1 to N
+ * cores, in island generations per second, and how much a move allocates.
+ *
+ * Usage: GeneticBenchmark [islands] [moves] [maxThreads]
+ *
+ * The islands run in a ForkJoinPool with the given number of threads, on the
+ * same seeded position every time, so the work per move is fixed and only the
+ * number of threads changes.
+ *
+ */
+public class GeneticBenchmark {
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int islands = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(GeneticBot.DEFAULT_ISLANDS, cores);
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : cores;
+
+        // A mid-game position, reached by random play from a fixed seed.
+        GameSession session = new GameSession(28, false);
+        RandomBot player = new RandomBot(new SplittableRandom(1));
+        for (int k = 0; k < 20; k++) {
+            String[][] board = session.snapshotFor(session.isPlayerXTurn() ? "X" : "O");
+            int[] move = player.move(board, session.getRoundsLeft());
+            session.play(move[0], move[1]);
+        }
+        String[][] board = session.snapshotFor(session.isPlayerXTurn() ? "X" : "O");
+        int roundsLeft = session.getRoundsLeft();
+
+        // Warm up the JIT before measuring.
+        GeneticBot warm = new GeneticBot(new SplittableRandom(0), islands, false);
+        for (int k = 0; k < moves; k++) {
+            warm.move(board, roundsLeft);
+        }
+
+        // Allocation of a whole move on one thread, islands and migration included.
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        GeneticBot sequential = new GeneticBot(new SplittableRandom(0), islands, false);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int k = 0; k < moves; k++) {
+            sequential.move(board, roundsLeft);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("islands=%d moves=%d generations/move=%d allocated=%.0f bytes/move, %.2f bytes/generation%n",
+                islands, moves, sequential.getGenerations() / moves, (double) allocated / moves,
+                (double) allocated / sequential.getGenerations());
+
+        System.out.printf("%8s %14s %8s%n", "threads", "generations/s", "speedup");
+        double base = 0;
+        for (int t = 1; t <= maxThreads; t++) {
+            ForkJoinPool pool = new ForkJoinPool(t);
+            GeneticBot bot = new GeneticBot(new SplittableRandom(0), islands, true);
+            long start = System.nanoTime();
+            pool.submit(() -> {
+                for (int k = 0; k < moves; k++) {
+                    bot.move(board, roundsLeft);
+                }
+            }).get();
+            double rate = bot.getGenerations() / ((System.nanoTime() - start) / 1e9);
+            pool.shutdown();
+            if (t == 1) {
+                base = rate;
+            }
+            System.out.printf("%8d %14.0f %7.2fx%n", t, rate, rate / base);
+        }
+    }
+}
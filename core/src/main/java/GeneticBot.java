@@ -0,0 +1,249 @@
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public class GeneticBot extends Bot {
+    private static final int PLAN_LENGTH = 5;
+    private static final int POPULATION_SIZE = 32;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final double MUTATION_RATE = 0.1;
+    private static final int EPOCH = 10;
+    private static final int MAX_GENERATIONS = 200;
+    public static final int DEFAULT_ISLANDS = 4;
+
+    private final Island[] islands;
+    private final boolean parallel;
+    private final int[] empties = new int[BitBoard.SQUARES];
+    private final int[] migrants;
+    private long generations;
+
+    public GeneticBot() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Create a genetic bot that draws its random numbers from the given stream,
+     * so runs from the same seed make the same moves.
+     *
+     * @param random The random stream, e.g. new SplittableRandom(seed).
+     */
+    public GeneticBot(SplittableRandom random) {
+        this(random, DEFAULT_ISLANDS, true);
+    }
+
+    /**
+     * Create a genetic bot.
+     *
+     * @param random   The random stream. Every island gets its own split of it, so
+     *                 runs from the same seed make the same moves even when the
+     *                 islands evolve in parallel.
+     * @param islands  The number of sub-populations.
+     * @param parallel True to evolve the islands on all cores.
+     */
+    public GeneticBot(SplittableRandom random, int islands, boolean parallel) {
+        this.islands = new Island[islands];
+        for (int i = 0; i < islands; i++) {
+            this.islands[i] = new Island(random.split());
+        }
+        this.parallel = parallel;
+        this.migrants = new int[islands];
+    }
+
+    /**
+     * This bot is a genetic algorithm bot. It evolves plans of its next few moves,
+     * scored by playing them out against a greedy opponent, and makes the first
+     * move of the best plan found.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Evolve the islands in epochs of EPOCH generations until MAX_GENERATIONS
+     * have passed or the deadline passes. After every epoch the best plan of each
+     * island replaces the worst plan of the next one.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The first move of the best plan found.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long own = bits(board, "O");
+        long opp = bits(board, "X");
+        long empty = ~(own | opp);
+        if (empty == 0) {
+            return new int[] { 0, 0 };
+        }
+        int length = Math.min(PLAN_LENGTH, Math.min(roundsLeft, Long.bitCount(empty)));
+        if (length <= 0) {
+            int square = Rollout.greedy(opp, empty);
+            return new int[] { square / 8, square % 8 };
+        }
+
+        int count = 0;
+        for (long free = empty; free != 0; free &= free - 1) {
+            this.empties[count++] = Long.numberOfTrailingZeros(free);
+        }
+        for (Island island : this.islands) {
+            island.seed(own, opp, length, this.empties, count);
+        }
+
+        int emptyCount = count;
+        for (int g = 0; g < MAX_GENERATIONS && !isExpired(deadline); g += EPOCH) {
+            IntStream range = IntStream.range(0, this.islands.length);
+            if (this.parallel) {
+                range = range.parallel();
+            }
+            range.forEach(i -> this.islands[i].evolve(EPOCH, own, opp, length, this.empties, emptyCount, deadline));
+            this.migrate(length);
+        }
+
+        Island best = this.islands[0];
+        for (Island island : this.islands) {
+            this.generations += island.generations;
+            island.generations = 0;
+            if (island.fitness[island.best()] > best.fitness[best.best()]) {
+                best = island;
+            }
+        }
+        int square = best.genes[best.best() * PLAN_LENGTH];
+        return new int[] { square / 8, square % 8 };
+    }
+
+    /**
+     * Ring migration: copy the best plan of every island over the worst plan of
+     * the next island.
+     */
+    private void migrate(int length) {
+        int n = this.islands.length;
+        if (n < 2) {
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            this.migrants[i] = this.islands[i].best();
+        }
+        for (int i = 0; i < n; i++) {
+            Island from = this.islands[i];
+            Island to = this.islands[(i + 1) % n];
+            int worst = to.worst();
+            System.arraycopy(from.genes, this.migrants[i] * PLAN_LENGTH, to.genes, worst * PLAN_LENGTH, length);
+            to.fitness[worst] = from.fitness[this.migrants[i]];
+        }
+    }
+
+    /**
+     * Get the number of generations evolved so far, summed over all islands.
+     *
+     * @return The number of island generations.
+     */
+    public long getGenerations() {
+        return this.generations;
+    }
+
+    /**
+     * One sub-population. The plans are stored back to back in a flat array of
+     * squares, PLAN_LENGTH apart, and every generation is bred into a second
+     * array that then swaps with the first, so evolving allocates nothing.
+     */
+    private static class Island {
+        private final SplittableRandom random;
+        private int[] genes = new int[POPULATION_SIZE * PLAN_LENGTH];
+        private int[] next = new int[POPULATION_SIZE * PLAN_LENGTH];
+        private int[] fitness = new int[POPULATION_SIZE];
+        private int[] nextFitness = new int[POPULATION_SIZE];
+        private long generations;
+
+        private Island(SplittableRandom random) {
+            this.random = random;
+        }
+
+        /**
+         * Fill the population with random plans of empty squares and score them.
+         */
+        private void seed(long own, long opp, int length, int[] empties, int count) {
+            for (int p = 0; p < POPULATION_SIZE; p++) {
+                for (int k = 0; k < length; k++) {
+                    this.genes[p * PLAN_LENGTH + k] = empties[this.random.nextInt(count)];
+                }
+                this.fitness[p] = Rollout.play(own, opp, this.genes, p * PLAN_LENGTH, length);
+            }
+        }
+
+        /**
+         * Breed a number of generations. The best plan survives unchanged, the
+         * rest are uniform crossovers of two tournament winners, each move
+         * mutated to a random empty square with probability MUTATION_RATE.
+         */
+        private void evolve(int count, long own, long opp, int length, int[] empties, int emptyCount,
+                long deadline) {
+            for (int g = 0; g < count && !isExpired(deadline); g++) {
+                int elite = this.best();
+                System.arraycopy(this.genes, elite * PLAN_LENGTH, this.next, 0, length);
+                this.nextFitness[0] = this.fitness[elite];
+
+                for (int c = 1; c < POPULATION_SIZE; c++) {
+                    int a = this.tournament() * PLAN_LENGTH;
+                    int b = this.tournament() * PLAN_LENGTH;
+                    int offset = c * PLAN_LENGTH;
+                    for (int k = 0; k < length; k++) {
+                        int gene = this.random.nextBoolean() ? this.genes[a + k] : this.genes[b + k];
+                        if (this.random.nextDouble() < MUTATION_RATE) {
+                            gene = empties[this.random.nextInt(emptyCount)];
+                        }
+                        this.next[offset + k] = gene;
+                    }
+                    this.nextFitness[c] = Rollout.play(own, opp, this.next, offset, length);
+                }
+
+                int[] swap = this.genes;
+                this.genes = this.next;
+                this.next = swap;
+                swap = this.fitness;
+                this.fitness = this.nextFitness;
+                this.nextFitness = swap;
+                this.generations++;
+            }
+        }
+
+        /**
+         * Pick the fittest of TOURNAMENT_SIZE random plans.
+         */
+        private int tournament() {
+            int winner = this.random.nextInt(POPULATION_SIZE);
+            for (int t = 1; t < TOURNAMENT_SIZE; t++) {
+                int p = this.random.nextInt(POPULATION_SIZE);
+                if (this.fitness[p] > this.fitness[winner]) {
+                    winner = p;
+                }
+            }
+            return winner;
+        }
+
+        private int best() {
+            int best = 0;
+            for (int p = 1; p < POPULATION_SIZE; p++) {
+                if (this.fitness[p] > this.fitness[best]) {
+                    best = p;
+                }
+            }
+            return best;
+        }
+
+        private int worst() {
+            int worst = 0;
+            for (int p = 1; p < POPULATION_SIZE; p++) {
+                if (this.fitness[p] < this.fitness[worst]) {
+                    worst = p;
+                }
+            }
+            return worst;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public class GeneticMinimaxBot extends Bot {
+    private static final int POPULATION_SIZE = 10;
+    private static final double MUTATION_RATE = 0.1;
+    private static final int MAX_GENERATIONS = 100;
+    private static final int MAX_DEPTH = 3;
+    private static final long CACHE_SALT = 0x47454E4D494E4958L;
+    /** The fitness of a move whose search the deadline cut off. */
+    private static final int TIME_UP = Integer.MIN_VALUE + 1;
+
+    private final SplittableRandom random;
+    private final EvalCache cache;
+    private final boolean parallel;
+    private long deadline = NO_DEADLINE;
+
+    public GeneticMinimaxBot() {
+        this(EvalCache.shared());
+    }
+
+    /**
+     * Create a genetic-minimax bot that keeps the fitness of evaluated moves in
+     * the given cache.
+     *
+     * @param cache The cache to use, usually {@link EvalCache#shared()}.
+     */
+    public GeneticMinimaxBot(EvalCache cache) {
+        this(cache, new SplittableRandom());
+    }
+
+    /**
+     * Create a genetic-minimax bot that draws its random numbers from the given
+     * stream, so runs from the same seed make the same moves.
+     *
+     * @param cache  The cache to use, usually {@link EvalCache#shared()}.
+     * @param random The random stream, e.g. new SplittableRandom(seed).
+     */
+    public GeneticMinimaxBot(EvalCache cache, SplittableRandom random) {
+        this(cache, random, true);
+    }
+
+    /**
+     * Create a genetic-minimax bot.
+     *
+     * @param cache    The cache to use, usually {@link EvalCache#shared()}.
+     * @param random   The random stream, e.g. new SplittableRandom(seed).
+     * @param parallel True to take the fitness of the offspring on all cores.
+     *                 The fitness does not depend on the order, so the moves are
+     *                 the same either way.
+     */
+    public GeneticMinimaxBot(EvalCache cache, SplittableRandom random, boolean parallel) {
+        this.cache = cache;
+        this.random = random;
+        this.parallel = parallel;
+    }
+
+    /**
+     * This bot is a genetic algorithm bot. It will create a population of random
+     * moves and evolve them using a genetic algorithm to find the best move.
+     * 
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * 
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Evolve moves until a valid best move is found, the generations run out or
+     * the deadline passes, whichever comes first. A minimax fitness call cut off
+     * by the deadline is thrown away.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The best valid move found so far.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        this.deadline = deadline;
+        boolean timeUp = false;
+        long playerO = bits(board, "O");
+        long playerX = bits(board, "X");
+
+        // Create a copy of the board
+        String[][] copyBoard = new String[8][8];
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                copyBoard[x][y] = board[x][y];
+            }
+        }
+
+        // Create a population of random moves
+        ArrayList<int[]> population = new ArrayList<>();
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            population.add(getRandomMove(board));
+        }
+
+        // Keep the best valid move with a finished fitness to return when time runs out
+        int[] bestSoFar = population.get(0).clone();
+        int bestSoFarScore = Integer.MIN_VALUE;
+
+        // Evolve the population using a genetic algorithm
+        for (int generation = 0; generation < MAX_GENERATIONS && !timeUp; generation++) {
+            // Evaluate the fitness of each solution
+            ArrayList<Integer> fitness = new ArrayList<>();
+            for (int[] move : population) {
+                fitness.add(evaluate(playerX, move[0], move[1]));
+            }
+
+            // Select the best solutions to be parents for the next generation
+            ArrayList<int[]> parents = new ArrayList<>();
+            for (int i = 0; i < POPULATION_SIZE / 2; i++) {
+                int index1 = rouletteWheelSelection(fitness);
+                int index2 = rouletteWheelSelection(fitness);
+                parents.add(population.get(index1));
+                parents.add(population.get(index2));
+            }
+
+            // Generate new solutions by combining the genes of the parents
+            ArrayList<int[]> offspring = new ArrayList<>();
+            for (int i = 0; i < POPULATION_SIZE; i++) {
+                int[] parent1 = parents.get(random.nextInt(parents.size()));
+                int[] parent2 = parents.get(random.nextInt(parents.size()));
+                int[] child = new int[2];
+                child[0] = random.nextBoolean() ? parent1[0] : parent2[0];
+                child[1] = random.nextBoolean() ? parent1[1] : parent2[1];
+                offspring.add(child);
+            }
+
+            // Mutate some of the new solutions
+            for (int[] move : offspring) {
+                if (random.nextDouble() < MUTATION_RATE) {
+                    move[0] = random.nextInt(8);
+                    move[1] = random.nextInt(8);
+                }
+            }
+
+            // Evaluate the fitness of the new solutions using Minimax
+            int[] minimaxFitness = new int[offspring.size()];
+            IntStream range = IntStream.range(0, minimaxFitness.length);
+            if (this.parallel) {
+                range = range.parallel();
+            }
+            range.forEach(i -> minimaxFitness[i] = this.fitness(playerO, playerX,
+                    BitBoard.square(offspring.get(i)[0], offspring.get(i)[1]), roundsLeft));
+            int bestIndex = 0;
+            for (int i = 0; i < minimaxFitness.length; i++) {
+                int score = minimaxFitness[i];
+                if (score == TIME_UP) {
+                    timeUp = true;
+                    continue;
+                }
+                if (score > bestSoFarScore && score != Integer.MIN_VALUE) {
+                    bestSoFar = offspring.get(i).clone();
+                    bestSoFarScore = score;
+                }
+                if (score > minimaxFitness[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+            if (timeUp) {
+                break;
+            }
+
+            // Select the best solution as the move to make
+            int[] bestMove = offspring.get(bestIndex);
+            if (copyBoard[bestMove[0]][bestMove[1]].equals("")) {
+                return bestMove;
+            }
+
+            // Replace the old population with the new offspring
+            population = offspring;
+        }
+
+        if (timeUp) {
+            return bestSoFar;
+        }
+
+        // If no satisfactory solution is found, return a random move
+        return getRandomMove(copyBoard);
+    }
+
+    /**
+     * This method selects an index from the fitness array using a roulette wheel
+     * selection algorithm.
+     * 
+     * @param fitness The fitness array.
+     * 
+     * @return The selected index.
+     */
+    private int rouletteWheelSelection(ArrayList<Integer> fitness) {
+        int totalFitness = 0;
+        for (int f : fitness) {
+            totalFitness += f;
+        }
+        double randomFitness = random.nextDouble() * totalFitness;
+        int index = 0;
+        while (randomFitness > 0) {
+            randomFitness -= fitness.get(index);
+            index++;
+        }
+        // check if index is 0, if so, return 0
+        return index == 0 ? 0 : index - 1;
+    }
+
+    /**
+     * This method generates a random move.
+     * 
+     * @param board The current state of the board.
+     * 
+     * @return The random move.
+     */
+    private int[] getRandomMove(String[][] board) {
+        int[] move = new int[2];
+        do {
+            move[0] = random.nextInt(8);
+            move[1] = random.nextInt(8);
+        } while (!board[move[0]][move[1]].equals(""));
+        return move;
+    }
+
+    /**
+     * This method evaluates the current state of the board and returns a score
+     * based on the number of adjacent pieces.
+     * 
+     * @param x   The squares of the player (X).
+     * @param row The row of the current move.
+     * @param col The column of the current move.
+     * 
+     * @return The score of the current state of the board.
+     */
+    public int evaluate(long x, int row, int col) {
+        return Long.bitCount(Rules.flips(BitBoard.square(row, col), x));
+    }
+
+    /**
+     * Score a move of the bot with alpha-beta minimax on bitboards: make the move
+     * with its captures, then let both players reply up to MAX_DEPTH moves deep,
+     * one round per move, and count the pieces at the end. All search state is
+     * local to the call, so the fitness of several moves can be taken at once.
+     *
+     * @param o          The squares of the bot (O).
+     * @param x          The squares of the player (X).
+     * @param square     The square of the move.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The final piece difference for the bot, Integer.MIN_VALUE if the
+     *         square is taken, or TIME_UP if the deadline passed first.
+     */
+    private int fitness(long o, long x, int square, int roundsLeft) {
+        if (((o | x) & (1L << square)) != 0) {
+            return Integer.MIN_VALUE;
+        }
+        long flipped = Rules.flips(square, x);
+        Search search = new Search(this.cache, this.deadline);
+        int score = -search.minimax(x & ~flipped, o | (1L << square) | flipped, 0, -BitBoard.SQUARES - 1,
+                BitBoard.SQUARES + 1, roundsLeft);
+        return search.timeUp ? TIME_UP : score;
+    }
+
+    /**
+     * One fitness search, confined to the thread that runs it.
+     */
+    private static final class Search {
+        private final EvalCache cache;
+        private final long deadline;
+        private boolean timeUp;
+
+        Search(EvalCache cache, long deadline) {
+            this.cache = cache;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Alpha-beta search from the view of the player to move, trying the moves
+         * that turn over the most pieces first.
+         *
+         * @param own        The squares of the player to move.
+         * @param opp        The squares of the other player.
+         * @param depth      The number of moves made since the bot's own.
+         * @param alpha      The best score the player to move is assured of.
+         * @param beta       The best score the other player is assured of.
+         * @param roundsLeft The number of rounds left in the game.
+         *
+         * @return The final piece difference for the player to move, or a bound
+         *         outside the window.
+         */
+        int minimax(long own, long opp, int depth, int alpha, int beta, int roundsLeft) {
+            long empty = ~(own | opp);
+            if (depth == MAX_DEPTH || roundsLeft == 0 || empty == 0) {
+                return Rules.score(own, opp);
+            }
+            // Give up once the deadline has passed, the caller throws the score away.
+            if (this.timeUp || isExpired(this.deadline)) {
+                this.timeUp = true;
+                return 0;
+            }
+
+            // The generations keep evaluating the same moves, so look them up first.
+            // A position one move from the horizon is cheaper to search than to hash.
+            int horizon = Math.min(MAX_DEPTH - depth, roundsLeft);
+            long key = horizon > 1 ? Zobrist.mix(Zobrist.hashCanonical(own, opp), CACHE_SALT + horizon) : 0;
+            long cached = horizon > 1 ? this.cache.get(key) : EvalCache.MISS;
+            if (cached != EvalCache.MISS) {
+                return (int) cached;
+            }
+
+            int best = -BitBoard.SQUARES - 1;
+            int bound = alpha;
+            search: for (int flips = 4; flips >= 0 && empty != 0; flips--) {
+                // The moves that turn over exactly this many pieces.
+                long layer = flips == 0 ? empty : empty & BitBoard.atLeast(opp, flips);
+                empty &= ~layer;
+                for (; layer != 0; layer &= layer - 1) {
+                    int square = Long.numberOfTrailingZeros(layer);
+                    long flipped = Rules.flips(square, opp);
+                    int score = -this.minimax(opp & ~flipped, own | (1L << square) | flipped, depth + 1, -beta,
+                            -bound, roundsLeft - 1);
+                    best = Math.max(best, score);
+                    bound = Math.max(bound, score);
+                    if (bound >= beta) {
+                        break search;
+                    }
+                }
+            }
+            // Only a score strictly inside the window is exact, anything else is a bound.
+            if (horizon > 1 && !this.timeUp && alpha < best && best < beta) {
+                this.cache.put(key, best);
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public class HillClimbingBot extends Bot {
+    /**
+     * The local search variants.
+     */
+    public enum Strategy {
+        /** One-ply scan: take the cell with the most adjacent X's. */
+        GREEDY,
+        /** Steepest-ascent hill climbing with random restarts. */
+        STEEPEST_ASCENT,
+        /** Steepest ascent that also takes equal moves, up to MAX_SIDEWAYS in a row. */
+        SIDEWAYS,
+        /** Simulated annealing with random restarts. */
+        ANNEALING
+    }
+
+    private static final int PLAN_LENGTH = 4;
+    private static final int RESTARTS = 16;
+    private static final int MAX_SIDEWAYS = 8;
+    private static final int ANNEALING_STEPS = 400;
+    private static final double START_TEMPERATURE = 2.0;
+    private static final double COOLING = 0.99;
+
+    private final Strategy strategy;
+    private final SplittableRandom random;
+    private final boolean parallel;
+
+    public HillClimbingBot() {
+        this(Strategy.SIDEWAYS, new SplittableRandom(), true);
+    }
+
+    /**
+     * Create a hill climbing bot.
+     *
+     * @param strategy The local search variant.
+     * @param random   The random stream. Every restart gets its own split of it,
+     *                 so runs from the same seed make the same moves even when
+     *                 the restarts run in parallel.
+     * @param parallel True to run the restarts on all cores.
+     */
+    public HillClimbingBot(Strategy strategy, SplittableRandom random, boolean parallel) {
+        this.strategy = strategy;
+        this.random = random;
+        this.parallel = parallel;
+    }
+
+    /**
+     * This bot is a hill climbing bot. It searches plans of its next few moves,
+     * scores each plan by playing it out against a greedy opponent, and makes the
+     * first move of the best plan found.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Run batches of RESTARTS restarts until the deadline passes, or a single
+     * batch without a deadline. At least one batch runs, so there is always a plan.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The first move of the best plan found.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long own = bits(board, "O");
+        long opp = bits(board, "X");
+        long empty = ~(own | opp);
+        if (empty == 0) {
+            return new int[] { 0, 0 };
+        }
+        int length = Math.min(PLAN_LENGTH, Math.min(roundsLeft, Long.bitCount(empty)));
+        if (this.strategy == Strategy.GREEDY || length <= 0) {
+            // One-ply scan: the square that turns over the most X's.
+            int square = Rollout.greedy(opp, empty);
+            return new int[] { square / 8, square % 8 };
+        }
+
+        int[] bestPlan = null;
+        int bestScore = Integer.MIN_VALUE;
+        do {
+            // Split the streams up front so the result does not depend on thread timing.
+            SplittableRandom[] streams = new SplittableRandom[RESTARTS];
+            for (int k = 0; k < RESTARTS; k++) {
+                streams[k] = this.random.split();
+            }
+            IntStream restarts = IntStream.range(0, RESTARTS);
+            if (this.parallel) {
+                restarts = restarts.parallel();
+            }
+            int[][] plans = restarts.mapToObj(k -> this.climb(own, opp, length, streams[k], deadline))
+                    .toArray(int[][]::new);
+            for (int[] plan : plans) {
+                if (plan[length] > bestScore) {
+                    bestPlan = plan;
+                    bestScore = plan[length];
+                }
+            }
+        } while (deadline != NO_DEADLINE && !isExpired(deadline));
+
+        return new int[] { bestPlan[0] / 8, bestPlan[0] % 8 };
+    }
+
+    /**
+     * Run one restart: start from a random plan and improve it with the strategy
+     * until it gets stuck, runs out of steps or the deadline passes.
+     *
+     * @param own      The squares of the bot.
+     * @param opp      The squares of the opponent.
+     * @param length   The number of moves in a plan.
+     * @param random   The random stream of this restart.
+     * @param deadline The {@link System#nanoTime()} to stop by, or NO_DEADLINE.
+     *
+     * @return The best plan found, with its score stored after the moves.
+     */
+    private int[] climb(long own, long opp, int length, SplittableRandom random, long deadline) {
+        long empty = ~(own | opp);
+        int[] plan = new int[length + 1];
+        long used = 0;
+        for (int k = 0; k < length; k++) {
+            plan[k] = BitBoard.randomSquare(empty & ~used, random);
+            used |= 1L << plan[k];
+        }
+        plan[length] = Rollout.play(own, opp, plan, 0, length);
+
+        if (this.strategy == Strategy.ANNEALING) {
+            return this.anneal(own, opp, plan, length, random, deadline);
+        }
+
+        int maxSideways = this.strategy == Strategy.SIDEWAYS ? MAX_SIDEWAYS : 0;
+        int sideways = 0;
+        int[] candidate = new int[length + 1];
+        while (!isExpired(deadline)) {
+            // Try every plan that differs in one move, keep the best (random among ties).
+            int bestK = -1;
+            int bestSquare = -1;
+            int bestScore = Integer.MIN_VALUE;
+            int ties = 0;
+            for (int k = 0; k < length; k++) {
+                System.arraycopy(plan, 0, candidate, 0, length);
+                for (long free = empty & ~used; free != 0; free &= free - 1) {
+                    int square = Long.numberOfTrailingZeros(free);
+                    candidate[k] = square;
+                    int score = Rollout.play(own, opp, candidate, 0, length);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestK = k;
+                        bestSquare = square;
+                        ties = 1;
+                    } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                        bestK = k;
+                        bestSquare = square;
+                    }
+                }
+            }
+            if (bestK < 0) {
+                break;
+            }
+            if (bestScore > plan[length]) {
+                sideways = 0;
+            } else if (bestScore == plan[length] && sideways < maxSideways) {
+                sideways++;
+            } else {
+                break;
+            }
+            used = (used & ~(1L << plan[bestK])) | (1L << bestSquare);
+            plan[bestK] = bestSquare;
+            plan[length] = bestScore;
+        }
+        return plan;
+    }
+
+    /**
+     * Simulated annealing from a starting plan. A random neighbour either
+     * replaces one move or swaps two, and a worse neighbour is still taken with
+     * probability exp(delta / temperature).
+     *
+     * @return The best plan seen, with its score stored after the moves.
+     */
+    private int[] anneal(long own, long opp, int[] plan, int length, SplittableRandom random, long deadline) {
+        long empty = ~(own | opp);
+        int[] best = plan.clone();
+        int[] candidate = new int[length + 1];
+        double temperature = START_TEMPERATURE;
+        for (int step = 0; step < ANNEALING_STEPS && !isExpired(deadline); step++) {
+            System.arraycopy(plan, 0, candidate, 0, length);
+            long used = 0;
+            for (int k = 0; k < length; k++) {
+                used |= 1L << plan[k];
+            }
+            long free = empty & ~used;
+            if (length > 1 && (free == 0 || random.nextBoolean())) {
+                int a = random.nextInt(length);
+                int b = random.nextInt(length);
+                int t = candidate[a];
+                candidate[a] = candidate[b];
+                candidate[b] = t;
+            } else if (free != 0) {
+                candidate[random.nextInt(length)] = BitBoard.randomSquare(free, random);
+            }
+            candidate[length] = Rollout.play(own, opp, candidate, 0, length);
+
+            int delta = candidate[length] - plan[length];
+            if (delta >= 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+                System.arraycopy(candidate, 0, plan, 0, length + 1);
+                if (plan[length] > best[length]) {
+                    System.arraycopy(plan, 0, best, 0, length + 1);
+                }
+            }
+            temperature *= COOLING;
+        }
+        return best;
+    }
+}
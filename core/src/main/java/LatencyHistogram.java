@@ -0,0 +1,115 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class. It records durations in nanoseconds from many
+ * threads at once and reports percentiles.
+ *
+ * Buckets are log-linear: every power of two is split into 8 sub-buckets, so a
+ * reported percentile is at most 12.5% above the true value.
+ *
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        this.buckets.incrementAndGet(bucket(nanos));
+        this.count.increment();
+        this.total.add(nanos);
+        this.max.accumulate(nanos);
+    }
+
+    /**
+     * Get the duration below which the given share of recorded durations fall.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     *
+     * @return The upper bound of the bucket holding the percentile, in
+     *         nanoseconds, or 0 if nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long n = this.count();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < this.buckets.length(); b++) {
+            seen += this.buckets.get(b);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(b), this.max());
+            }
+        }
+        return this.max();
+    }
+
+    public long count() {
+        return this.count.sum();
+    }
+
+    public long max() {
+        return this.max.get();
+    }
+
+    public double mean() {
+        long n = this.count();
+        return n == 0 ? 0 : (double) this.total.sum() / n;
+    }
+
+    /**
+     * Forget every recorded duration.
+     */
+    public void reset() {
+        for (int b = 0; b < this.buckets.length(); b++) {
+            this.buckets.set(b, 0);
+        }
+        this.count.reset();
+        this.total.reset();
+        this.max.reset();
+    }
+
+    /**
+     * Summarize the histogram in milliseconds.
+     *
+     * @return The count, mean, p50, p90, p99 and max.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                this.count(), this.mean() / 1e6, this.percentile(50) / 1e6, this.percentile(90) / 1e6,
+                this.percentile(99) / 1e6, this.max() / 1e6);
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (msb - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (msb - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int msb = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (msb - SUB_BITS)) - 1;
+    }
+}
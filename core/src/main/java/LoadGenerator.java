@@ -0,0 +1,121 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The LoadGenerator class. It opens many client connections to a GameServer,
+ * plays random moves as player X in all of them at once, and reports
+ * throughput and move latency.
+ *
+ * Usage: LoadGenerator [clients] [gamesPerClient] [bot] [rounds] [port] [moveTargetMs]
+ *
+ * With port 0 (the default) the generator starts its own server in the same
+ * JVM, with one bot worker per core and the given bot move latency target.
+ *
+ */
+public class LoadGenerator {
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String bot = args.length > 2 ? args[2] : "hillclimbing";
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 28;
+        int port = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        long moveTarget = args.length > 5 ? Long.parseLong(args[5]) * 1_000_000L : 0;
+
+        GameServer server = null;
+        BotScheduler scheduler = null;
+        if (port == 0) {
+            scheduler = new BotScheduler(Runtime.getRuntime().availableProcessors(), clients * 2);
+            server = new GameServer(0, scheduler, moveTarget);
+            port = server.start();
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong moves = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService executor = GameServer.newPerTaskExecutor();
+        int serverPort = port;
+
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            executor.execute(() -> {
+                try {
+                    play(serverPort, bot, rounds, games, new SplittableRandom(seed), latency, moves);
+                } catch (IOException | RuntimeException e) {
+                    errors.incrementAndGet();
+                    System.err.println("Client failed: " + e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("clients=%d games=%d bot=%s rounds=%d errors=%d%n", clients, clients * games, bot,
+                rounds, errors.get());
+        System.out.printf("elapsed=%.2fs moves=%d throughput=%.0f moves/s %.1f games/s%n", seconds, moves.get(),
+                moves.get() / seconds, clients * games / seconds);
+        System.out.println("move round trip: " + latency);
+        if (scheduler != null) {
+            System.out.println("bot queue wait:  " + scheduler.getQueueWait());
+            System.out.println("bot compute:     " + scheduler.getCompute());
+            if (moveTarget > 0) {
+                System.out.println("bot move:        " + scheduler.getMoveLatency() + " missed="
+                        + scheduler.getMissedTargets());
+            }
+            System.out.println("bot memory:      " + MemoryBudget.global());
+            scheduler.close();
+            server.close();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Play games on one connection, picking a random empty square every move.
+     */
+    private static void play(int port, String bot, int rounds, int games, SplittableRandom random,
+            LatencyHistogram latency, AtomicLong moves) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            for (int g = 0; g < games; g++) {
+                String[] state = request(in, out, "NEW " + bot + " " + rounds + " " + random.nextBoolean());
+                while (!state[5].equals("OVER")) {
+                    String board = state[1];
+                    int square;
+                    do {
+                        square = random.nextInt(64);
+                    } while (board.charAt(square) != '.');
+
+                    long t0 = System.nanoTime();
+                    state = request(in, out, "MOVE " + square / 8 + " " + square % 8);
+                    latency.record(System.nanoTime() - t0);
+                    moves.incrementAndGet();
+                }
+            }
+            out.println("QUIT");
+        }
+    }
+
+    private static String[] request(BufferedReader in, PrintWriter out, String command) throws IOException {
+        out.println(command);
+        String reply = in.readLine();
+        if (reply == null || !reply.startsWith("STATE ")) {
+            throw new IOException(command + " -> " + reply);
+        }
+        return reply.split(" ");
+    }
+}
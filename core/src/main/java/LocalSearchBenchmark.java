@@ -0,0 +1,47 @@
+/**
+ * The LocalSearchBenchmark class. It measures how the strength of each
+ * HillClimbingBot strategy grows with the time it is given per move, against
+ * the one-ply greedy scan the bot used to be.
+ *
+ * Usage: LocalSearchBenchmark [games] [rounds] [budgetsMs...]
+ *
+ * Every line of the report is one point on a quality-vs-time curve: strategy,
+ * budget, score against the greedy bot (1 = all wins), mean piece margin and
+ * the mean and p99 time actually taken per move.
+ *
+ */
+public class LocalSearchBenchmark {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 28;
+        long[] budgets = { 1, 2, 5, 10, 20, 50 };
+        if (args.length > 2) {
+            budgets = new long[args.length - 2];
+            for (int k = 2; k < args.length; k++) {
+                budgets[k - 2] = Long.parseLong(args[k]);
+            }
+        }
+
+        System.out.printf("%-16s %8s %7s %8s %10s %10s%n", "strategy", "budget", "score", "margin", "mean", "p99");
+        Tournament.Result baseline = Tournament.run(
+                r -> new HillClimbingBot(HillClimbingBot.Strategy.GREEDY, r, false),
+                r -> new HillClimbingBot(HillClimbingBot.Strategy.GREEDY, r, false), games, rounds, 0, 1);
+        print("GREEDY", 0, baseline);
+
+        HillClimbingBot.Strategy[] strategies = { HillClimbingBot.Strategy.STEEPEST_ASCENT,
+                HillClimbingBot.Strategy.SIDEWAYS, HillClimbingBot.Strategy.ANNEALING };
+        for (HillClimbingBot.Strategy strategy : strategies) {
+            for (long budget : budgets) {
+                Tournament.Result result = Tournament.run(r -> new HillClimbingBot(strategy, r, true),
+                        r -> new HillClimbingBot(HillClimbingBot.Strategy.GREEDY, r, false), games, rounds,
+                        budget * 1_000_000L, 1);
+                print(strategy.name(), budget, result);
+            }
+        }
+    }
+
+    private static void print(String strategy, long budget, Tournament.Result result) {
+        System.out.printf("%-16s %6dms %7.3f %+8.2f %8.3fms %8.3fms%n", strategy, budget, result.score(),
+                result.meanMargin(), result.timesA.mean() / 1e6, result.timesA.percentile(99) / 1e6);
+    }
+}
@@ -0,0 +1,361 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+public class MctsBot extends Bot {
+    private static final int ITERATIONS = 10000;
+    private static final double EXPLORATION = 1.0;
+    /** Maps an evaluator score onto (-1, 1) with tanh(score / VALUE_SCALE). */
+    private static final double VALUE_SCALE = 8.0 * Evaluator.UNIT;
+
+    private final Evaluator evaluator;
+    private final SplittableRandom random;
+    private final Tablebase tablebase = Tablebase.standard();
+    /** The most arenas kept between searches, an eighth of the budget each, so half of it at most. */
+    private static final int POOLED_ARENAS = 4;
+    // The free arenas of the pool. A search takes one for its length and gives
+    // it back, so arenas follow the searches running, not the threads that ever
+    // ran one, and no arena is held by an idle pool thread. Guarded by itself.
+    private static final ArrayDeque<Arena> ARENAS = new ArrayDeque<>();
+    private static int arenasPooled;
+    private int peakNodes;
+    private int arenaFull;
+
+    public MctsBot() {
+        this(Evaluator.standard(), new SplittableRandom());
+    }
+
+    /**
+     * Create a Monte Carlo tree search bot.
+     *
+     * @param evaluator The evaluator that scores new leaves, e.g.
+     *                  {@link Evaluator#standard()}.
+     * @param random    The random stream, e.g. new SplittableRandom(seed).
+     */
+    public MctsBot(Evaluator evaluator, SplittableRandom random) {
+        this.evaluator = evaluator;
+        this.random = random;
+    }
+
+    /**
+     * This bot is a Monte Carlo tree search bot. It grows a tree of moves one leaf
+     * per iteration, picking the branch to grow by UCT, scores every new leaf with
+     * the evaluator instead of a random playout, and makes the move that was
+     * visited most.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Run iterations until the deadline passes, or ITERATIONS of them without a
+     * deadline, or until the node arena is full. The first iteration always runs,
+     * so the root has a child. Positions solved by the {@link Tablebase} are not
+     * searched.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The most visited move.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long o = bits(board, "O");
+        long x = bits(board, "X");
+        if ((o | x) == BitBoard.FULL) {
+            return new int[] { 0, 0 };
+        }
+        int[] solved = this.tablebase.move(o, x, roundsLeft);
+        if (solved != null) {
+            return solved;
+        }
+        // The bot does not know whether it moves first in the round, so assume
+        // the round ends with its move: 2 * roundsLeft - 1 moves are left.
+        Arena tree = takeArena(deadline);
+        try {
+            tree.clear();
+            int root = tree.add(x, o, -1, Math.max(1, 2 * roundsLeft - 1), -1);
+            for (int n = 0; n == 0 || (deadline == NO_DEADLINE ? n < ITERATIONS : !isExpired(deadline)); n++) {
+                if (!this.iterate(tree, root)) {
+                    // Out of nodes: answer with the tree grown so far.
+                    this.arenaFull++;
+                    break;
+                }
+            }
+            this.peakNodes = Math.max(this.peakNodes, tree.size);
+
+            int best = tree.firstChild(root);
+            for (int c = tree.nextSibling(best); c >= 0; c = tree.nextSibling(c)) {
+                if (tree.visits(c) > tree.visits(best)) {
+                    best = c;
+                }
+            }
+            int square = tree.square(best);
+            return new int[] { square / 8, square % 8 };
+        } finally {
+            giveBack(tree);
+        }
+    }
+
+    /**
+     * Take an arena for one search. A free arena of the pool comes first. While
+     * the pool has fewer than POOLED_ARENAS, a new one is made; one the budget
+     * could not give its full size is used once and not kept. Otherwise the
+     * search waits for a free arena until its deadline, and then makes do with
+     * the smallest arena. Arenas made smaller than wanted are counted in the
+     * report of the {@link MemoryBudget}.
+     *
+     * @param deadline The {@link System#nanoTime()} deadline, or NO_DEADLINE.
+     *
+     * @return The arena, to give back with {@link #giveBack(Arena)}.
+     */
+    private static Arena takeArena(long deadline) {
+        synchronized (ARENAS) {
+            while (ARENAS.isEmpty() && arenasPooled == POOLED_ARENAS) {
+                long wait = deadline == NO_DEADLINE ? 0 : deadline - System.nanoTime();
+                if (deadline != NO_DEADLINE && wait <= 0) {
+                    return new Arena(MemoryBudget.global(), Arena.MIN_NODES);
+                }
+                try {
+                    ARENAS.wait(wait / 1_000_000L, (int) (wait % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return new Arena(MemoryBudget.global(), Arena.MIN_NODES);
+                }
+            }
+            if (!ARENAS.isEmpty()) {
+                return ARENAS.pop();
+            }
+            arenasPooled++;
+        }
+        MemoryBudget budget = MemoryBudget.global();
+        Arena arena = new Arena(budget, (int) (budget.limit() / 8 / Arena.NODE_BYTES));
+        if (arena.cut) {
+            synchronized (ARENAS) {
+                arenasPooled--;
+            }
+        } else {
+            arena.pooled = true;
+        }
+        return arena;
+    }
+
+    /**
+     * Put an arena of the pool back for the next search. Others are dropped, so
+     * their bytes go back to the budget.
+     */
+    private static void giveBack(Arena arena) {
+        if (arena.pooled) {
+            synchronized (ARENAS) {
+                ARENAS.push(arena);
+                ARENAS.notify();
+            }
+        }
+    }
+
+    /**
+     * Walk down the tree by UCT, add one leaf, score it and add the score to every
+     * node on the way.
+     *
+     * @return False if the arena had no room for the leaf.
+     */
+    private boolean iterate(Arena tree, int root) {
+        int node = root;
+        while (tree.untried(node) == 0 && tree.firstChild(node) >= 0) {
+            node = tree.select(node);
+        }
+        if (tree.untried(node) != 0) {
+            if (tree.size == tree.capacity) {
+                return false;
+            }
+            node = tree.expand(node, this.random);
+        }
+
+        double value;
+        if (tree.isTerminal(node)) {
+            value = Math.tanh(Evaluator.MATERIAL.evaluate(tree.own(node), tree.opp(node)) / VALUE_SCALE);
+        } else {
+            value = Math.tanh(this.evaluator.evaluate(tree.own(node), tree.opp(node)) / VALUE_SCALE);
+        }
+        // Each node keeps the value for the player who moved into it.
+        for (; node >= 0; node = tree.parent(node)) {
+            tree.visit(node, value);
+            value = -value;
+        }
+        return true;
+    }
+
+    /**
+     * Get the most nodes one search used.
+     *
+     * @return The peak number of nodes in the arena.
+     */
+    public int getPeakNodes() {
+        return this.peakNodes;
+    }
+
+    /**
+     * Get the number of searches stopped early because the arena was full.
+     *
+     * @return The number of moves made from a full arena.
+     */
+    public int getArenaFull() {
+        return this.arenaFull;
+    }
+
+    /**
+     * The nodes of the tree, stored off the heap in a buffer from the
+     * {@link MemoryBudget} and reused for every move, so growing the tree
+     * allocates nothing. A node is NODE_BYTES at a fixed offset from its index,
+     * and links to its parent, its first and last child and its next sibling by
+     * index, -1 for none. Every node is a position just after own moved, with
+     * opp to move.
+     */
+    private static final class Arena {
+        private static final int OWN = 0;
+        private static final int OPP = 8;
+        private static final int UNTRIED = 16;
+        private static final int VALUE = 24;
+        private static final int PARENT = 32;
+        private static final int FIRST_CHILD = 36;
+        private static final int NEXT_SIBLING = 40;
+        private static final int VISITS = 44;
+        private static final int LAST_CHILD = 48;
+        private static final int SQUARE = 52;
+        private static final int PLIES_LEFT = 53;
+        private static final int NODE_BYTES = 56;
+        // Enough for the root and a child for every square.
+        private static final int MIN_NODES = BitBoard.SQUARES + 1;
+
+        private final ByteBuffer nodes;
+        private final int capacity;
+        /** True if the budget had less left than wanted. */
+        private final boolean cut;
+        /** True once the arena belongs to the pool. */
+        private boolean pooled;
+        private int size;
+
+        /**
+         * Take room for a number of nodes from the budget, or what is left of it.
+         */
+        private Arena(MemoryBudget budget, int nodes) {
+            long wanted = (long) Math.max(MIN_NODES, nodes) * NODE_BYTES;
+            this.nodes = budget.allocate("MctsBot arena", wanted, (long) MIN_NODES * NODE_BYTES);
+            this.capacity = this.nodes.capacity() / NODE_BYTES;
+            this.cut = this.nodes.capacity() < wanted;
+        }
+
+        private void clear() {
+            this.size = 0;
+        }
+
+        private int add(long own, long opp, int square, int pliesLeft, int parent) {
+            int node = this.size++;
+            int at = node * NODE_BYTES;
+            this.nodes.putLong(at + OWN, own);
+            this.nodes.putLong(at + OPP, opp);
+            long empty = ~(own | opp);
+            this.nodes.putLong(at + UNTRIED, pliesLeft > 0 ? empty : 0);
+            this.nodes.putDouble(at + VALUE, 0);
+            this.nodes.putInt(at + PARENT, parent);
+            this.nodes.putInt(at + FIRST_CHILD, -1);
+            this.nodes.putInt(at + NEXT_SIBLING, -1);
+            this.nodes.putInt(at + VISITS, 0);
+            this.nodes.putInt(at + LAST_CHILD, -1);
+            this.nodes.put(at + SQUARE, (byte) square);
+            this.nodes.put(at + PLIES_LEFT, (byte) pliesLeft);
+            return node;
+        }
+
+        private long own(int node) {
+            return this.nodes.getLong(node * NODE_BYTES + OWN);
+        }
+
+        private long opp(int node) {
+            return this.nodes.getLong(node * NODE_BYTES + OPP);
+        }
+
+        private long untried(int node) {
+            return this.nodes.getLong(node * NODE_BYTES + UNTRIED);
+        }
+
+        private int parent(int node) {
+            return this.nodes.getInt(node * NODE_BYTES + PARENT);
+        }
+
+        private int firstChild(int node) {
+            return this.nodes.getInt(node * NODE_BYTES + FIRST_CHILD);
+        }
+
+        private int nextSibling(int node) {
+            return this.nodes.getInt(node * NODE_BYTES + NEXT_SIBLING);
+        }
+
+        private int visits(int node) {
+            return this.nodes.getInt(node * NODE_BYTES + VISITS);
+        }
+
+        private int square(int node) {
+            return this.nodes.get(node * NODE_BYTES + SQUARE);
+        }
+
+        private boolean isTerminal(int node) {
+            return this.nodes.get(node * NODE_BYTES + PLIES_LEFT) <= 0
+                    || (this.own(node) | this.opp(node)) == BitBoard.FULL;
+        }
+
+        private void visit(int node, double value) {
+            int at = node * NODE_BYTES;
+            this.nodes.putInt(at + VISITS, this.nodes.getInt(at + VISITS) + 1);
+            this.nodes.putDouble(at + VALUE, this.nodes.getDouble(at + VALUE) + value);
+        }
+
+        /**
+         * Add the child of a random move that has no child yet.
+         */
+        private int expand(int node, SplittableRandom random) {
+            int at = node * NODE_BYTES;
+            int square = BitBoard.randomSquare(this.nodes.getLong(at + UNTRIED), random);
+            this.nodes.putLong(at + UNTRIED, this.nodes.getLong(at + UNTRIED) & ~(1L << square));
+
+            // The player to move here moves, and becomes the own side of the child.
+            long own = this.own(node);
+            long flipped = Rules.flips(square, own);
+            int child = this.add(this.opp(node) | (1L << square) | flipped, own & ~flipped, square,
+                    this.nodes.get(at + PLIES_LEFT) - 1, node);
+            int last = this.nodes.getInt(at + LAST_CHILD);
+            if (last < 0) {
+                this.nodes.putInt(at + FIRST_CHILD, child);
+            } else {
+                this.nodes.putInt(last * NODE_BYTES + NEXT_SIBLING, child);
+            }
+            this.nodes.putInt(at + LAST_CHILD, child);
+            return child;
+        }
+
+        /**
+         * Pick the child with the highest upper confidence bound.
+         */
+        private int select(int node) {
+            double log = Math.log(this.visits(node));
+            int best = -1;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int child = this.firstChild(node); child >= 0; child = this.nextSibling(child)) {
+                int at = child * NODE_BYTES;
+                int visits = this.nodes.getInt(at + VISITS);
+                double bound = this.nodes.getDouble(at + VALUE) / visits + EXPLORATION * Math.sqrt(log / visits);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The MemoryBudget class. It caps the memory the search structures of all bots
+ * in the process take together: the shared {@link EvalCache}, caches made for
+ * single bots and the node arenas of {@link MctsBot}. The budget is set in
+ * megabytes with -Dbot.hashMB (64 by default).
+ *
+ * The structures live off the Java heap, in direct buffers handed out by
+ * {@link #allocate(String, long, long)}. A request is granted what is left of
+ * the budget when it asks for more, so a structure made when the budget is
+ * spent comes out smaller and the search it serves gets weaker, instead of the
+ * process running out of memory. When a buffer becomes unreachable its bytes go
+ * back to the budget.
+ *
+ */
+public final class MemoryBudget {
+    public static final long MB = 1L << 20;
+
+    private static final MemoryBudget GLOBAL = new MemoryBudget(Long.getLong("bot.hashMB", 64) * MB);
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final long RECLAIM_INTERVAL = 1_000_000_000L;
+    private static final long RECLAIM_WAIT = 100_000_000L;
+
+    private final long limit;
+    private long used;
+    private long peak;
+    private long lastReclaim = System.nanoTime() - RECLAIM_INTERVAL;
+    // Bytes and buffers held per owner, for the report.
+    private final Map<String, long[]> owners = new TreeMap<>();
+    // Requests granted less than wanted, per owner, for the report.
+    private final Map<String, Long> cuts = new TreeMap<>();
+
+    /**
+     * Create a budget.
+     *
+     * @param limit The number of bytes that may be allocated at once.
+     */
+    public MemoryBudget(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Get the budget shared by every bot in the process.
+     *
+     * @return The budget of -Dbot.hashMB megabytes.
+     */
+    public static MemoryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Allocate a direct buffer of up to wanted bytes, in native byte order. If
+     * less than wanted is left, the buffer holds what is left, but never less
+     * than minimum, so a structure can always be made; only such minimums can
+     * take the usage over the limit.
+     *
+     * @param owner   What the buffer is for, as shown in the report.
+     * @param wanted  The number of bytes wanted.
+     * @param minimum The smallest usable number of bytes.
+     *
+     * @return The buffer. Its capacity is the number of bytes granted.
+     */
+    public ByteBuffer allocate(String owner, long wanted, long minimum) {
+        this.reclaim(wanted);
+        long granted;
+        synchronized (this) {
+            granted = Math.max(minimum, Math.min(wanted, this.limit - this.used));
+            if (granted > Integer.MAX_VALUE) {
+                granted = Integer.MAX_VALUE & ~7L;
+            }
+            this.charge(owner, granted, 1);
+            if (granted < wanted) {
+                this.cuts.merge(owner, 1L, Long::sum);
+            }
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.allocateDirect((int) granted).order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            // The JVM's own direct memory limit is below the budget.
+            this.release(owner, granted);
+            throw e;
+        }
+        long bytes = granted;
+        CLEANER.register(buffer, () -> this.release(owner, bytes));
+        return buffer;
+    }
+
+    /**
+     * The bytes of unreachable buffers only come back after a garbage collection,
+     * which direct buffers do not cause on their own. When a request does not fit,
+     * collect and wait a little for the bytes to come back, as the JDK does for
+     * its own direct memory limit. At most once per RECLAIM_INTERVAL, so a budget
+     * that is really spent does not cost a collection per request.
+     *
+     * @param wanted The number of bytes about to be requested.
+     */
+    void reclaim(long wanted) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (this.available() >= wanted || now - this.lastReclaim < RECLAIM_INTERVAL) {
+                return;
+            }
+            this.lastReclaim = now;
+        }
+        System.gc();
+        long end = System.nanoTime() + RECLAIM_WAIT;
+        while (this.available() < wanted && System.nanoTime() < end) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void release(String owner, long bytes) {
+        synchronized (this) {
+            this.charge(owner, -bytes, -1);
+        }
+    }
+
+    private void charge(String owner, long bytes, int buffers) {
+        this.used += bytes;
+        this.peak = Math.max(this.peak, this.used);
+        long[] held = this.owners.computeIfAbsent(owner, k -> new long[2]);
+        held[0] += bytes;
+        held[1] += buffers;
+        if (held[1] == 0) {
+            this.owners.remove(owner);
+        }
+    }
+
+    public long limit() {
+        return this.limit;
+    }
+
+    public synchronized long available() {
+        return Math.max(0, this.limit - this.used);
+    }
+
+    public synchronized long used() {
+        return this.used;
+    }
+
+    public synchronized long peak() {
+        return this.peak;
+    }
+
+    /**
+     * Report the bytes in use, in total and per owner, and how many requests of
+     * each owner were granted less than they wanted.
+     *
+     * @return e.g. "memory 40.0/64.0MB (peak 48.0MB): EvalCache 32.0MB, MctsBot
+     *         arena 8.0MB x2; cut: MctsBot arena x3".
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder(String.format("memory %.1f/%.1fMB (peak %.1fMB)",
+                (double) this.used / MB, (double) this.limit / MB, (double) this.peak / MB));
+        String separator = ": ";
+        for (Map.Entry<String, long[]> entry : this.owners.entrySet()) {
+            long[] held = entry.getValue();
+            report.append(separator).append(String.format("%s %.1fMB", entry.getKey(), (double) held[0] / MB));
+            if (held[1] > 1) {
+                report.append(" x").append(held[1]);
+            }
+            separator = ", ";
+        }
+        separator = "; cut: ";
+        for (Map.Entry<String, Long> entry : this.cuts.entrySet()) {
+            report.append(separator).append(entry.getKey()).append(" x").append(entry.getValue());
+            separator = ", ";
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,651 @@
+public class MinimaxBot extends Bot {
+    private static final int MAX_DEPTH = 3;
+    private static final long CACHE_SALT = 0x4D494E494D4158L;
+    /** Moves that turn over at least this many pieces are searched past the horizon. */
+    private static final int QUIESCENCE_FLIPS = Integer.getInteger("bot.quiescenceFlips", 3);
+    /** The most positions searched past the horizon per iteration, 0 for none. */
+    private static final int QUIESCENCE_NODES = Integer.getInteger("bot.quiescenceNodes", 2000);
+    /** Search the moves that turn over the most pieces first, see {@link #setMoveOrdering}. */
+    private static final boolean MOVE_ORDERING = Boolean.getBoolean("bot.moveOrdering");
+    /** Search quiet moves after the first few less deep, see {@link #setSelective}. */
+    private static final boolean LATE_MOVE_REDUCTIONS = Boolean.getBoolean("bot.lmr");
+    /** Skip moves one ply before the horizon that cannot reach alpha. */
+    private static final boolean FUTILITY = Boolean.getBoolean("bot.futility");
+    /** Only search the empty squares next to a piece, and one other. */
+    private static final boolean FRONTIER = Boolean.getBoolean("bot.frontier");
+    /** The moves searched at full depth before the reductions start. */
+    private static final int FULL_DEPTH_MOVES = 3;
+    /** How much shallower late moves are searched: by 2, so the horizon stays on the same player. */
+    private static final int REDUCTION = 2;
+    /** True to search with the opponent model of bot.opponentModel in every bot, not only against humans. */
+    private static final boolean OPPONENT_MODEL = System.getProperty("bot.opponentModel") != null;
+    /** The share of the player's likely replies searched when an opponent model is set. */
+    private static final double OPPONENT_COVERAGE = Double.parseDouble(System.getProperty("bot.opponentCoverage",
+            "0.9"));
+    /** The fewest replies of the player searched with an opponent model. */
+    private static final int MIN_REPLIES = 2;
+    /**
+     * The fewest plies left below a node for the opponent model to be used there. Just
+     * above the horizon, ranking the replies costs more than searching them all.
+     */
+    private static final int MODEL_PLIES = 2;
+    /** Marks the cache keys of subtrees that reach the end of the game. */
+    private static final long END_OF_GAME = 1L << 32;
+    /** Marks the cache keys of positions with the player to move, under an opponent model. */
+    private static final long PLAYER_TO_MOVE = 1L << 33;
+    /** The most a move can change the piece difference: its own piece and 4 turned over. */
+    private static final int MAX_GAIN = (1 + 2 * 4) * Evaluator.UNIT;
+
+    private final EvalCache cache;
+    private final Evaluator evaluator;
+    private final Tablebase tablebase;
+    private final long evaluatorSalt;
+    private long salt;
+    private int depthLimit = MAX_DEPTH;
+    private int maxDepth = MAX_DEPTH;
+    private int quiescenceFlips;
+    private int quiescenceNodes;
+    private int quiescenceLeft;
+    /** True once a quiescence search below the current node stopped because the budget was spent. */
+    private boolean quiescenceCut;
+    private boolean moveOrdering;
+    private boolean lateMoveReductions;
+    private boolean futility;
+    private boolean frontier;
+    private OpponentModel opponentModel = OpponentModel.NONE;
+    private double opponentCoverage = 1;
+    /** The ranked replies of the player, per depth. */
+    private int[][] replySquares = new int[0][];
+    private float[][] replyProbabilities = new float[0][];
+    private long nodes;
+    private int depthReached;
+    private boolean proven;
+    private long deadline = NO_DEADLINE;
+    private boolean timeUp;
+
+    public MinimaxBot() {
+        this(EvalCache.shared());
+    }
+
+    /**
+     * Create a minimax bot that keeps the scores of searched positions in the
+     * given cache.
+     *
+     * @param cache The cache to use, usually {@link EvalCache#shared()}.
+     */
+    public MinimaxBot(EvalCache cache) {
+        this(cache, Evaluator.MATERIAL);
+    }
+
+    /**
+     * Create a minimax bot that scores the positions at the search horizon with
+     * the given evaluator.
+     *
+     * @param cache     The cache to use, usually {@link EvalCache#shared()}.
+     * @param evaluator The evaluator, e.g. {@link Evaluator#standard()}.
+     */
+    public MinimaxBot(EvalCache cache, Evaluator evaluator) {
+        this(cache, evaluator, Tablebase.standard());
+    }
+
+    /**
+     * Create a minimax bot that looks solved endgames up in the given table.
+     *
+     * @param cache     The cache to use, usually {@link EvalCache#shared()}.
+     * @param evaluator The evaluator, e.g. {@link Evaluator#standard()}.
+     * @param tablebase The table, usually {@link Tablebase#standard()}.
+     */
+    public MinimaxBot(EvalCache cache, Evaluator evaluator, Tablebase tablebase) {
+        this.cache = cache;
+        this.evaluator = evaluator;
+        this.tablebase = tablebase;
+        // Bots with different evaluators score the same position differently.
+        this.evaluatorSalt = evaluator == Evaluator.MATERIAL ? CACHE_SALT
+                : Zobrist.mix(CACHE_SALT, System.identityHashCode(evaluator));
+        this.setQuiescence(QUIESCENCE_FLIPS, QUIESCENCE_NODES);
+        this.setMoveOrdering(MOVE_ORDERING);
+        this.setSelective(LATE_MOVE_REDUCTIONS, FUTILITY, FRONTIER);
+        if (OPPONENT_MODEL) {
+            this.setOpponentModel(OpponentModel.standard());
+        }
+    }
+
+    /**
+     * Set how deep the bot searches before the horizon.
+     *
+     * @param depth The number of moves after the bot's own, MAX_DEPTH by default.
+     */
+    public void setDepth(int depth) {
+        this.depthLimit = depth;
+    }
+
+    /**
+     * Set up the quiescence search. At the horizon, a position where the player
+     * to move can turn over many pieces at once is not scored as it stands:
+     * those moves are searched further until the position is quiet. The
+     * defaults come from the bot.quiescenceFlips and bot.quiescenceNodes system
+     * properties (3 and 2000).
+     *
+     * @param flips The fewest pieces a move must turn over to be searched.
+     * @param nodes The most positions searched past the horizon per iteration,
+     *              0 to score every position at the horizon as it stands.
+     */
+    public void setQuiescence(int flips, int nodes) {
+        this.quiescenceFlips = Math.max(1, flips);
+        this.quiescenceNodes = nodes;
+        this.updateSalt();
+    }
+
+    /**
+     * Set whether the moves are searched in order of how many pieces they turn
+     * over, most first, instead of by square. The scores stay the same, but the
+     * good moves come first and cut the search short more often, so a search to
+     * the same depth visits far fewer positions. Moves that score the same may
+     * be picked differently. The default comes from the bot.moveOrdering system
+     * property (off).
+     *
+     * @param moveOrdering True to search the moves that turn over most first.
+     */
+    public void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    /**
+     * Set up the selective search, which searches fewer positions at the risk of
+     * missing a good move. The moves are then searched in order of how many
+     * pieces they turn over, as with {@link #setMoveOrdering}. The defaults come from the bot.lmr, bot.futility
+     * and bot.frontier system properties (all off).
+     *
+     * @param lateMoveReductions Search moves that turn over at most one piece,
+     *                           after the first FULL_DEPTH_MOVES, two plies less
+     *                           deep, and again at full depth if they look good.
+     * @param futility           One ply before the horizon, skip the moves that
+     *                           cannot reach alpha even if they gain their piece
+     *                           and two for every piece they turn over.
+     * @param frontier           Only search the empty squares next to a piece,
+     *                           and one of the others: those turn nothing over.
+     */
+    public void setSelective(boolean lateMoveReductions, boolean futility, boolean frontier) {
+        this.lateMoveReductions = lateMoveReductions;
+        this.futility = futility;
+        this.frontier = frontier;
+        this.updateSalt();
+    }
+
+    /**
+     * Set the model of the player (X), for play against humans. Where the player
+     * is to move, only their likeliest replies are searched, most likely first,
+     * until they make up the coverage, and at least MIN_REPLIES of them. The
+     * bot then assumes the player never picks the others: it answers faster,
+     * but misses a reply the model thinks unlikely, so it is meant for a human
+     * player only. The default is NONE, unless the bot.opponentModel system
+     * property names a model file: then every bot uses that model.
+     *
+     * @param model    The model, NONE to search every reply.
+     * @param coverage The probability the searched replies add up to, from 0 to 1.
+     */
+    public void setOpponentModel(OpponentModel model, double coverage) {
+        this.opponentModel = model;
+        this.opponentCoverage = coverage;
+        this.updateSalt();
+    }
+
+    /**
+     * Set the model of the player (X) with the coverage of the
+     * bot.opponentCoverage system property (0.9), see
+     * {@link #setOpponentModel(OpponentModel, double)}.
+     *
+     * @param model The model, NONE to search every reply.
+     */
+    public void setOpponentModel(OpponentModel model) {
+        this.setOpponentModel(model, OPPONENT_COVERAGE);
+    }
+
+    private boolean isSelective() {
+        return this.lateMoveReductions || this.futility || this.frontier;
+    }
+
+    private void updateSalt() {
+        // Positions score differently with other settings, so they get other keys.
+        long salt = this.quiescenceNodes == 0 ? this.evaluatorSalt
+                : Zobrist.mix(this.evaluatorSalt, (long) this.quiescenceNodes << 32 | this.quiescenceFlips);
+        if (this.isSelective()) {
+            salt = Zobrist.mix(salt, (this.lateMoveReductions ? 1 : 0) | (this.futility ? 2 : 0)
+                    | (this.frontier ? 4 : 0));
+        }
+        if (this.opponentModel != OpponentModel.NONE) {
+            salt = Zobrist.mix(salt, System.identityHashCode(this.opponentModel)
+                    ^ Double.doubleToLongBits(this.opponentCoverage));
+        }
+        this.salt = salt;
+    }
+
+    /**
+     * Get the number of positions searched so far, for benchmarks.
+     *
+     * @return The positions searched, past the horizon included.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * This bot is a minimax bot. It will evaluate the current state of the board
+     * and make a move that will maximize the score.
+     * 
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * 
+     * @return The move that the bot will make.
+     */
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Search one ply deeper per iteration up to the depth limit (MAX_DEPTH unless
+     * set), and keep the move of the last iteration that finished before the
+     * deadline. The first iteration only looks one move ahead, so it always
+     * finishes. Without a deadline only the last iteration is run. Positions
+     * solved by the {@link Tablebase} are not searched.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The move of the deepest finished iteration.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long o = bits(board, "O");
+        long x = bits(board, "X");
+        int[] solved = this.tablebase.move(o, x, roundsLeft);
+        this.proven = solved != null;
+        if (solved != null) {
+            this.depthReached = Long.bitCount(~(o | x));
+            return solved;
+        }
+        this.deadline = deadline;
+        this.timeUp = false;
+        this.depthReached = 0;
+        int[] move = null;
+        for (int d = deadline == NO_DEADLINE ? this.depthLimit : 0; d <= this.depthLimit && !this.timeUp; d++) {
+            this.maxDepth = d;
+            this.quiescenceLeft = this.quiescenceNodes;
+            this.quiescenceCut = false;
+            int[] found = this.searchRoot(o, x, roundsLeft);
+            if (!this.timeUp) {
+                move = found;
+                this.depthReached = d + 1;
+            }
+        }
+        return move;
+    }
+
+    @Override
+    public int lastDepth() {
+        return this.depthReached;
+    }
+
+    @Override
+    public boolean isProven() {
+        return this.proven;
+    }
+
+    /**
+     * Try every move of the bot and return the one with the best minimax score.
+     *
+     * @param o          The squares of the bot.
+     * @param x          The squares of the player.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The best move.
+     */
+    private int[] searchRoot(long o, long x, int roundsLeft) {
+        int[] move = new int[2];
+        int bestScore = Integer.MIN_VALUE;
+        for (long empty = ~(o | x); empty != 0; empty &= empty - 1) {
+            // Make a move
+            int square = Long.numberOfTrailingZeros(empty);
+            long flipped = Rules.flips(square, x);
+            // Evaluate the board
+            int score = minimax(o | (1L << square) | flipped, x & ~flipped, 0, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE, false, roundsLeft);
+            // Update the best score
+            if (score >= bestScore) {
+                bestScore = score;
+                move[0] = square / BitBoard.COL;
+                move[1] = square % BitBoard.COL;
+            }
+        }
+        return move;
+    }
+
+    /**
+     * Score a position with alpha-beta minimax, looking it up in the cache first.
+     *
+     * @param o            The squares of the bot.
+     * @param x            The squares of the player.
+     * @param depth        The depth of the current node.
+     * @param alpha        The best score the maximizing player is assured of.
+     * @param beta         The best score the minimizing player is assured of.
+     * @param isMaximizing True if the bot (O) is to move.
+     * @param roundsLeft   The number of rounds left in the game.
+     *
+     * @return The score of the position for the bot.
+     */
+    public int minimax(long o, long x, int depth, int alpha, int beta, boolean isMaximizing, int roundsLeft) {
+        this.nodes++;
+        // If the game is over the score is final, at the depth reached evaluate the board
+        if (roundsLeft == 0 || (o | x) == BitBoard.FULL) {
+            return Evaluator.MATERIAL.evaluate(o, x);
+        }
+        // A solved endgame scores exactly, at the horizon too. The search takes a
+        // round per move from the rounds at the root, where the bot may end the
+        // round, so after depth + 1 moves the game has at least this many left.
+        if (2 * roundsLeft + depth - 2 >= Long.bitCount(~(o | x))) {
+            int entry = this.tablebase.probe(isMaximizing ? o : x, isMaximizing ? x : o);
+            if (entry != Tablebase.NOT_FOUND) {
+                int gain = isMaximizing ? Tablebase.gain(entry) : -Tablebase.gain(entry);
+                return (Rules.score(o, x) + gain) * Evaluator.UNIT;
+            }
+        }
+        if (depth == this.maxDepth) {
+            return this.quiesce(o, x, alpha, beta, isMaximizing, roundsLeft);
+        }
+
+        // Give up once the deadline has passed, the iteration is thrown away.
+        if (this.timeUp || isExpired(this.deadline)) {
+            this.timeUp = true;
+            return 0;
+        }
+
+        // Look the position up in the cache. The key is taken from the view of the
+        // player to move and the score is stored for that player, so symmetric
+        // copies and colour-swapped copies of a position share one entry.
+        long own = isMaximizing ? o : x;
+        long opp = isMaximizing ? x : o;
+        // A subtree that reaches the end of the game scores exactly, one that
+        // stops at the horizon is evaluated, so the two never share a key even
+        // at the same number of moves.
+        int remaining = this.maxDepth - depth;
+        long horizon = roundsLeft <= remaining ? roundsLeft | END_OF_GAME : remaining;
+        // The opponent model prunes the moves of the player only, so a subtree
+        // scores differently for each colour to move and they get other keys.
+        if (!isMaximizing && this.opponentModel != OpponentModel.NONE) {
+            horizon |= PLAYER_TO_MOVE;
+        }
+        long key = Zobrist.mix(Zobrist.hashCanonical(own, opp), this.salt + horizon);
+        long cached = this.cache.get(key);
+        if (cached != EvalCache.MISS) {
+            return isMaximizing ? (int) cached : -(int) cached;
+        }
+
+        boolean cutAbove = this.quiescenceCut;
+        this.quiescenceCut = false;
+        int score;
+        if (!isMaximizing && this.opponentModel != OpponentModel.NONE && this.maxDepth - depth >= MODEL_PLIES) {
+            score = this.searchLikely(o, x, depth, alpha, beta, roundsLeft);
+        } else if (this.moveOrdering || this.isSelective()) {
+            score = this.searchSelective(o, x, depth, alpha, beta, isMaximizing, roundsLeft);
+        } else {
+            score = this.search(o, x, depth, alpha, beta, isMaximizing, roundsLeft);
+        }
+
+        // Only a score strictly inside the window is exact, anything else is a bound.
+        // A score whose quiescence ran out of budget depends on the search order,
+        // so it is not stored for the position either.
+        if (!this.timeUp && !this.quiescenceCut && alpha < score && score < beta) {
+            this.cache.put(key, isMaximizing ? score : -score);
+        }
+        this.quiescenceCut |= cutAbove;
+        return score;
+    }
+
+    /**
+     * Search every move of the player to move and return the minimax score.
+     *
+     * @param o            The squares of the bot.
+     * @param x            The squares of the player.
+     * @param depth        The depth of the current node.
+     * @param alpha        The best score the maximizing player is assured of.
+     * @param beta         The best score the minimizing player is assured of.
+     * @param isMaximizing True if the bot (O) is to move.
+     * @param roundsLeft   The number of rounds left in the game.
+     *
+     * @return The score of the board.
+     */
+    private int search(long o, long x, int depth, int alpha, int beta, boolean isMaximizing, int roundsLeft) {
+        long empty = ~(o | x);
+        // If it is the maximizing player's turn
+        if (isMaximizing) {
+            int bestScore = Integer.MIN_VALUE;
+            // Check all possible moves
+            for (; empty != 0; empty &= empty - 1) {
+                int square = Long.numberOfTrailingZeros(empty);
+                long flipped = Rules.flips(square, x);
+                int score = minimax(o | (1L << square) | flipped, x & ~flipped, depth + 1, alpha, beta, false,
+                        roundsLeft - 1);
+                // Update the best score
+                bestScore = Math.max(score, bestScore);
+                alpha = Math.max(alpha, score);
+                // Prune the tree
+                if (beta <= alpha) {
+                    break;
+                }
+            }
+            return bestScore;
+        }
+
+        // If it is the minimizing player's turn
+        int bestScore = Integer.MAX_VALUE;
+        // Check all possible moves
+        for (; empty != 0; empty &= empty - 1) {
+            int square = Long.numberOfTrailingZeros(empty);
+            long flipped = Rules.flips(square, o);
+            int score = minimax(o & ~flipped, x | (1L << square) | flipped, depth + 1, alpha, beta, true,
+                    roundsLeft - 1);
+            // Update the best score
+            bestScore = Math.min(score, bestScore);
+            beta = Math.min(beta, score);
+            // Prune the tree
+            if (beta <= alpha) {
+                break;
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Search the moves of the player to move like {@link #search}, most pieces
+     * turned over first, with the selective search that is switched on, if any. Scores
+     * are kept from the view of the player to move, so both players share the
+     * code.
+     *
+     * @param o            The squares of the bot.
+     * @param x            The squares of the player.
+     * @param depth        The depth of the current node.
+     * @param alpha        The best score the maximizing player is assured of.
+     * @param beta         The best score the minimizing player is assured of.
+     * @param isMaximizing True if the bot (O) is to move.
+     * @param roundsLeft   The number of rounds left in the game.
+     *
+     * @return The score of the board, or a bound outside the window.
+     */
+    private int searchSelective(long o, long x, int depth, int alpha, int beta, boolean isMaximizing,
+            int roundsLeft) {
+        int sign = isMaximizing ? 1 : -1;
+        long own = isMaximizing ? o : x;
+        long opp = isMaximizing ? x : o;
+        int low = isMaximizing ? alpha : -beta;
+        // Integer.MIN_VALUE has no negation: the root searches with it.
+        int high = isMaximizing ? beta : -Math.max(alpha, -Integer.MAX_VALUE);
+        long empty = ~(o | x);
+        long moves = empty;
+        if (this.frontier) {
+            long near = empty & BitBoard.neighbours(o | x);
+            long far = empty & ~near;
+            moves = near | (far & -far);
+        }
+        int remaining = this.maxDepth - depth;
+        boolean futile = this.futility && remaining == 1;
+        int standPat = futile ? sign * this.evaluate(o, x, isMaximizing) : 0;
+
+        int best = -Integer.MAX_VALUE;
+        int searched = 0;
+        long more = moves;
+        for (int flips = 4; flips >= 0 && more != 0; flips--) {
+            // The moves that turn over exactly this many pieces.
+            long layer = flips == 0 ? more : more & BitBoard.atLeast(opp, flips);
+            more &= ~layer;
+            if (futile && standPat + (1 + 2 * flips) * Evaluator.UNIT <= low) {
+                // Neither these moves nor the ones turning over fewer reach alpha.
+                best = Math.max(best, standPat + (1 + 2 * flips) * Evaluator.UNIT);
+                break;
+            }
+            for (; layer != 0; layer &= layer - 1) {
+                int square = Long.numberOfTrailingZeros(layer);
+                long flipped = Rules.flips(square, opp);
+                long nextOwn = own | (1L << square) | flipped;
+                long nextOpp = opp & ~flipped;
+                long nextO = isMaximizing ? nextOwn : nextOpp;
+                long nextX = isMaximizing ? nextOpp : nextOwn;
+                int score;
+                if (this.lateMoveReductions && remaining > REDUCTION && flips <= 1 && searched >= FULL_DEPTH_MOVES) {
+                    this.maxDepth -= REDUCTION;
+                    score = sign * this.minimax(nextO, nextX, depth + 1, alpha, beta, !isMaximizing, roundsLeft - 1);
+                    this.maxDepth += REDUCTION;
+                    if (score > low) {
+                        score = sign * this.minimax(nextO, nextX, depth + 1, alpha, beta, !isMaximizing,
+                                roundsLeft - 1);
+                    }
+                } else {
+                    score = sign * this.minimax(nextO, nextX, depth + 1, alpha, beta, !isMaximizing, roundsLeft - 1);
+                }
+                searched++;
+                best = Math.max(best, score);
+                low = Math.max(low, score);
+                if (low >= high) {
+                    return sign * best;
+                }
+                if (isMaximizing) {
+                    alpha = low;
+                } else {
+                    beta = -low;
+                }
+            }
+        }
+        return sign * best;
+    }
+
+    /**
+     * Search the likely replies of the player (X), see {@link #setOpponentModel}.
+     *
+     * @param o          The squares of the bot.
+     * @param x          The squares of the player.
+     * @param depth      The depth of the current node.
+     * @param alpha      The best score the maximizing player is assured of.
+     * @param beta       The best score the minimizing player is assured of.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The lowest score of the replies searched.
+     */
+    private int searchLikely(long o, long x, int depth, int alpha, int beta, int roundsLeft) {
+        if (depth >= this.replySquares.length) {
+            this.replySquares = new int[depth + 1][BitBoard.SQUARES];
+            this.replyProbabilities = new float[depth + 1][BitBoard.SQUARES];
+        }
+        int[] squares = this.replySquares[depth];
+        float[] probabilities = this.replyProbabilities[depth];
+        int count = this.opponentModel.rank(x, o, squares, probabilities);
+        int bestScore = Integer.MAX_VALUE;
+        double covered = 0;
+        for (int i = 0; i < count && (i < MIN_REPLIES || covered < this.opponentCoverage); i++) {
+            covered += probabilities[i];
+            long flipped = Rules.flips(squares[i], o);
+            int score = this.minimax(o & ~flipped, x | (1L << squares[i]) | flipped, depth + 1, alpha, beta, true,
+                    roundsLeft - 1);
+            bestScore = Math.min(score, bestScore);
+            beta = Math.min(beta, score);
+            if (beta <= alpha) {
+                break;
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Score a position at the horizon. The player to move may take the score of
+     * the position as it stands, since any move gains at least a piece, or play
+     * a move that turns over at least quiescenceFlips pieces, searched the same
+     * way. The search ends at quiet positions, at the end of the game and when
+     * the node budget of the iteration is spent, which sets quiescenceCut.
+     *
+     * @param o            The squares of the bot.
+     * @param x            The squares of the player.
+     * @param alpha        The best score the maximizing player is assured of.
+     * @param beta         The best score the minimizing player is assured of.
+     * @param isMaximizing True if the bot (O) is to move.
+     * @param roundsLeft   The number of rounds left in the game.
+     *
+     * @return The score of the position for the bot.
+     */
+    private int quiesce(long o, long x, int alpha, int beta, boolean isMaximizing, int roundsLeft) {
+        if (roundsLeft == 0 || (o | x) == BitBoard.FULL) {
+            return Evaluator.MATERIAL.evaluate(o, x);
+        }
+        int standPat = this.evaluate(o, x, isMaximizing);
+        if (this.quiescenceNodes <= 0) {
+            return standPat;
+        }
+        long loud = ~(o | x) & BitBoard.atLeast(isMaximizing ? x : o, this.quiescenceFlips);
+        if (loud == 0) {
+            return standPat;
+        }
+        if (this.quiescenceLeft <= 0) {
+            this.quiescenceCut = true;
+            return standPat;
+        }
+        this.quiescenceLeft--;
+
+        int bestScore = standPat;
+        for (; loud != 0; loud &= loud - 1) {
+            int square = Long.numberOfTrailingZeros(loud);
+            int score;
+            if (isMaximizing) {
+                if (bestScore >= beta) {
+                    break;
+                }
+                alpha = Math.max(alpha, bestScore);
+                long flipped = Rules.flips(square, x);
+                this.nodes++;
+                score = quiesce(o | (1L << square) | flipped, x & ~flipped, alpha, beta, false, roundsLeft - 1);
+                bestScore = Math.max(bestScore, score);
+            } else {
+                if (bestScore <= alpha) {
+                    break;
+                }
+                beta = Math.min(beta, bestScore);
+                long flipped = Rules.flips(square, o);
+                this.nodes++;
+                score = quiesce(o & ~flipped, x | (1L << square) | flipped, alpha, beta, true, roundsLeft - 1);
+                bestScore = Math.min(bestScore, score);
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * This method evaluates a position with the evaluator of the bot, from the
+     * view of the player who just moved, and returns the score for the bot.
+     *
+     * @param o            The squares of the bot.
+     * @param x            The squares of the player.
+     * @param isMaximizing True if the bot (O) is to move, so the player just moved.
+     *
+     * @return The score of the position for the bot, in {@link Evaluator#UNIT}s.
+     */
+    public int evaluate(long o, long x, boolean isMaximizing) {
+        return isMaximizing ? -this.evaluator.evaluate(x, o) : this.evaluator.evaluate(o, x);
+    }
+}
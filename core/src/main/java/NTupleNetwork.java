@@ -0,0 +1,305 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The NTupleNetwork class. It is an {@link Evaluator} made of lookup tables: a
+ * tuple is a short list of squares, and the 3^n ways those squares can be empty,
+ * own or opponent index a table of weights. The value of a position is the sum
+ * of the weights picked by every tuple under all 8 symmetries of the board (see
+ * {@link Symmetry}), so the symmetric copies of a tuple share one table.
+ *
+ * A tuple copy is read a board row at a time: for every row it touches, a
+ * table maps the 8 bits of the row to that row's part of the base 3 index.
+ * Copies that run down a column are read from the transposed board instead, so
+ * a line is one lookup for each side. Scoring allocates nothing. The weights are
+ * trained by NTupleTrainer and stored in a little-endian binary file:
+ * <pre>
+ * int magic "NTUP", int version, int tuples,
+ * for every tuple: int n, int[n] squares,
+ * for every tuple: float[3^n] weights
+ * </pre>
+ * {@link #load(Path)} memory-maps the file, so the weights are read in place
+ * and shared by every process that loads the same file.
+ *
+ */
+public final class NTupleNetwork implements Evaluator {
+    private static final int MAGIC = 0x5055544E;
+    private static final int VERSION = 1;
+
+    /** The tuples of a new network: four lines, a 3x3 corner and a 2x4 edge block. */
+    private static final int[][] DEFAULT_TUPLES = {
+            { 0, 1, 2, 3, 4, 5, 6, 7 },
+            { 8, 9, 10, 11, 12, 13, 14, 15 },
+            { 16, 17, 18, 19, 20, 21, 22, 23 },
+            { 24, 25, 26, 27, 28, 29, 30, 31 },
+            { 0, 1, 2, 8, 9, 10, 16, 17, 18 },
+            { 0, 1, 2, 3, 8, 9, 10, 11 },
+    };
+
+    private final int[][] tuples;
+    private final FloatBuffer weights;
+    // Every symmetric copy of every tuple: where its table starts in the weights,
+    // whether it is read from the transposed board, and where its row groups start.
+    private final int[] tables;
+    private final boolean[] transposed;
+    private final int[] starts;
+    // Every row group: the shift of its row and its 256 partial indexes.
+    private final int[] shifts;
+    private final int[] rows;
+
+    private NTupleNetwork(int[][] tuples, FloatBuffer weights) {
+        this.tuples = tuples;
+        this.weights = weights;
+
+        List<int[]> copies = new ArrayList<>();
+        List<Integer> copyTables = new ArrayList<>();
+        int table = 0;
+        for (int[] tuple : tuples) {
+            List<int[]> seen = new ArrayList<>();
+            for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+                int[] copy = new int[tuple.length];
+                for (int k = 0; k < tuple.length; k++) {
+                    copy[k] = Symmetry.transformSquare(tuple[k], sym);
+                }
+                // Symmetric tuples map onto themselves, count each copy once.
+                if (seen.stream().noneMatch(s -> Arrays.equals(s, copy))) {
+                    seen.add(copy);
+                    copies.add(copy);
+                    copyTables.add(table);
+                }
+            }
+            table += size(tuple.length);
+        }
+        if (table != weights.limit()) {
+            throw new IllegalArgumentException("Expected " + table + " weights, got " + weights.limit());
+        }
+
+        this.tables = new int[copies.size()];
+        this.transposed = new boolean[copies.size()];
+        this.starts = new int[copies.size() + 1];
+        List<Integer> shifts = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        for (int c = 0; c < copies.size(); c++) {
+            int[] copy = copies.get(c);
+            this.tables[c] = copyTables.get(c);
+            // Read the copy from whichever side of the board it spans fewer rows of.
+            long mask = 0;
+            for (int square : copy) {
+                mask |= 1L << square;
+            }
+            this.transposed[c] = spannedRows(BitBoard.transpose(mask)) < spannedRows(mask);
+            int place = 1;
+            int[] weights3 = new int[copy.length];
+            for (int k = copy.length - 1; k >= 0; k--) {
+                weights3[k] = place;
+                place *= 3;
+            }
+            for (int row = 0; row < BitBoard.ROW; row++) {
+                int[] part = null;
+                for (int k = 0; k < copy.length; k++) {
+                    int square = this.transposed[c] ? BitBoard.square(copy[k] % 8, copy[k] / 8) : copy[k];
+                    if (square / 8 != row) {
+                        continue;
+                    }
+                    if (part == null) {
+                        part = new int[256];
+                    }
+                    for (int bits = 0; bits < 256; bits++) {
+                        if ((bits >>> (square % 8) & 1) != 0) {
+                            part[bits] += weights3[k];
+                        }
+                    }
+                }
+                if (part != null) {
+                    shifts.add(8 * row);
+                    rows.add(part);
+                }
+            }
+            this.starts[c + 1] = rows.size();
+        }
+        this.shifts = new int[rows.size()];
+        this.rows = new int[rows.size() * 256];
+        for (int g = 0; g < rows.size(); g++) {
+            this.shifts[g] = shifts.get(g);
+            System.arraycopy(rows.get(g), 0, this.rows, g * 256, 256);
+        }
+    }
+
+    private static int spannedRows(long mask) {
+        int rows = 0;
+        for (int row = 0; row < BitBoard.ROW; row++) {
+            if ((mask >>> (8 * row) & 0xFF) != 0) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Create a network with the default tuples and all weights 0.
+     *
+     * @return The network, with writable weights on the heap.
+     */
+    public static NTupleNetwork create() {
+        int count = 0;
+        for (int[] tuple : DEFAULT_TUPLES) {
+            count += size(tuple.length);
+        }
+        return new NTupleNetwork(DEFAULT_TUPLES, FloatBuffer.allocate(count));
+    }
+
+    /**
+     * Map a weights file into memory.
+     *
+     * @param file The file written by {@link #save(Path)}.
+     *
+     * @return The network, with read-only weights.
+     *
+     * @throws IOException If the file cannot be read or is not a weights file.
+     */
+    public static NTupleNetwork load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(file + " is not an n-tuple weights file.");
+            }
+            int[][] tuples = new int[buffer.getInt()][];
+            for (int t = 0; t < tuples.length; t++) {
+                tuples[t] = new int[buffer.getInt()];
+                for (int k = 0; k < tuples[t].length; k++) {
+                    tuples[t][k] = buffer.getInt();
+                }
+            }
+            try {
+                return new NTupleNetwork(tuples, buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Write the network to a file in the format {@link #load(Path)} reads.
+     *
+     * @param file The file to write.
+     */
+    public void save(Path file) throws IOException {
+        int header = 12;
+        for (int[] tuple : this.tuples) {
+            header += 4 + 4 * tuple.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(header + 4 * this.weights.limit()).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(this.tuples.length);
+        for (int[] tuple : this.tuples) {
+            buffer.putInt(tuple.length);
+            for (int square : tuple) {
+                buffer.putInt(square);
+            }
+        }
+        for (int w = 0; w < this.weights.limit(); w++) {
+            buffer.putFloat(this.weights.get(w));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public int evaluate(long own, long opp) {
+        return Math.round(this.value(own, opp) * UNIT);
+    }
+
+    /**
+     * Compute the value of a position. See {@link Evaluator#evaluate(long, long)}.
+     *
+     * @param own The squares of the player who just moved.
+     * @param opp The squares of the player to move.
+     *
+     * @return The expected final piece difference for own.
+     */
+    public float value(long own, long opp) {
+        long ownT = BitBoard.transpose(own);
+        long oppT = BitBoard.transpose(opp);
+        float value = 0;
+        for (int c = 0; c < this.tables.length; c++) {
+            int index = this.transposed[c] ? this.index(c, ownT, oppT) : this.index(c, own, opp);
+            value += this.weights.get(this.tables[c] + index);
+        }
+        return value;
+    }
+
+    /**
+     * Move the value of a position by delta, spread evenly over the weights that
+     * make it up.
+     *
+     * @param own   The squares of the player who just moved.
+     * @param opp   The squares of the player to move.
+     * @param delta The change of the value.
+     *
+     * @throws java.nio.ReadOnlyBufferException If the network was loaded from a file.
+     */
+    public void update(long own, long opp, float delta) {
+        long ownT = BitBoard.transpose(own);
+        long oppT = BitBoard.transpose(opp);
+        float step = delta / this.tables.length;
+        for (int c = 0; c < this.tables.length; c++) {
+            int index = this.transposed[c] ? this.index(c, ownT, oppT) : this.index(c, own, opp);
+            int w = this.tables[c] + index;
+            this.weights.put(w, this.weights.get(w) + step);
+        }
+    }
+
+    /**
+     * Read the squares of one tuple copy as a base 3 number: 0 for empty, 1 for
+     * own and 2 for opponent, one row lookup per side at a time.
+     */
+    private int index(int copy, long own, long opp) {
+        int index = 0;
+        for (int g = this.starts[copy]; g < this.starts[copy + 1]; g++) {
+            int shift = this.shifts[g];
+            int table = g * 256;
+            index += this.rows[table + (int) (own >>> shift & 0xFF)]
+                    + 2 * this.rows[table + (int) (opp >>> shift & 0xFF)];
+        }
+        return index;
+    }
+
+    /**
+     * Get the number of tuple copies read per position.
+     *
+     * @return The number of table reads per evaluation.
+     */
+    public int copies() {
+        return this.tables.length;
+    }
+
+    /**
+     * Get the number of weights.
+     *
+     * @return The size of all tables together.
+     */
+    public int size() {
+        return this.weights.limit();
+    }
+
+    private static int size(int length) {
+        int size = 1;
+        for (int k = 0; k < length; k++) {
+            size *= 3;
+        }
+        return size;
+    }
+}
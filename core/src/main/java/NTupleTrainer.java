@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * The NTupleTrainer class. It trains an {@link NTupleNetwork} by TD(0) learning
+ * from headless self-play and writes the weights file the bots map at startup.
+ *
+ * Usage: NTupleTrainer [games] [file] [rounds] [seed] [alpha] [epsilon]
+ *
+ * Both sides pick the move whose resulting position the network values most,
+ * or a random move with probability epsilon. After every move the value of the
+ * position is moved towards the negated value of the position after the reply,
+ * since that is scored from the other side, and the last position towards the
+ * final piece difference. The report shows the mean squared TD error, and at
+ * the end how MinimaxBot does with the trained network against the same bot
+ * with the material evaluator, both with 10ms per move.
+ *
+ */
+public class NTupleTrainer {
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Path file = Paths.get(args.length > 1 ? args[1] : "ntuple.bin");
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 28;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        float alpha = args.length > 4 ? Float.parseFloat(args[4]) : 0.1f;
+        double epsilon = args.length > 5 ? Double.parseDouble(args[5]) : 0.1;
+
+        NTupleNetwork network = NTupleNetwork.create();
+        SplittableRandom random = new SplittableRandom(seed);
+        System.out.printf("%d weights, %d table reads per position%n", network.size(), network.copies());
+
+        long start = System.nanoTime();
+        double error = 0;
+        int moves = 0;
+        for (int g = 1; g <= games; g++) {
+            // Half the games start with X, half with O, as in the real game.
+            long mover = Rules.START_X;
+            long other = Rules.START_O;
+            if (random.nextBoolean()) {
+                long swap = mover;
+                mover = other;
+                other = swap;
+            }
+            int plies = Math.min(2 * rounds, BitBoard.SQUARES - 8);
+
+            // The position just after the previous move, from the view of its mover.
+            long lastOwn = 0;
+            long lastOpp = 0;
+            boolean first = true;
+            for (int p = 0; p < plies; p++) {
+                int square = choose(network, mover, other, random, epsilon);
+                long flipped = Rules.flips(square, other);
+                long own = mover | (1L << square) | flipped;
+                long opp = other & ~flipped;
+
+                if (!first) {
+                    float delta = -network.value(own, opp) - network.value(lastOwn, lastOpp);
+                    network.update(lastOwn, lastOpp, alpha * delta);
+                    error += delta * delta;
+                    moves++;
+                }
+                first = false;
+                lastOwn = own;
+                lastOpp = opp;
+                mover = opp;
+                other = own;
+            }
+            float delta = Rules.score(lastOwn, lastOpp) - network.value(lastOwn, lastOpp);
+            network.update(lastOwn, lastOpp, alpha * delta);
+            error += delta * delta;
+            moves++;
+
+            if (g % 1000 == 0 || g == games) {
+                System.out.printf("games=%d mse=%.3f %.0f games/s%n", g, error / moves,
+                        g / ((System.nanoTime() - start) / 1e9));
+                error = 0;
+                moves = 0;
+            }
+        }
+
+        network.save(file);
+        System.out.println("Wrote " + file);
+
+        NTupleNetwork trained = NTupleNetwork.load(file);
+        Tournament.Result result = Tournament.run(r -> new MinimaxBot(new EvalCache(1 << 16), trained),
+                r -> new MinimaxBot(new EvalCache(1 << 16)), 20, rounds, 10_000_000L, seed);
+        System.out.println("minimax ntuple vs minimax material, 10ms per move: " + result);
+    }
+
+    /**
+     * Pick the move whose resulting position the network values most for the
+     * mover, or a random move with probability epsilon.
+     *
+     * @return The bit index of the move.
+     */
+    private static int choose(NTupleNetwork network, long mover, long other, SplittableRandom random,
+            double epsilon) {
+        long empty = ~(mover | other);
+        if (random.nextDouble() < epsilon) {
+            return BitBoard.randomSquare(empty, random);
+        }
+        int best = Long.numberOfTrailingZeros(empty);
+        float bestValue = Float.NEGATIVE_INFINITY;
+        for (; empty != 0; empty &= empty - 1) {
+            int square = Long.numberOfTrailingZeros(empty);
+            long flipped = Rules.flips(square, other);
+            float value = network.value(mover | (1L << square) | flipped, other & ~flipped);
+            if (value > bestValue) {
+                bestValue = value;
+                best = square;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,200 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The OpponentModel class. It predicts how likely a player is to pick each empty
+ * square, so MinimaxBot can search the likely replies of a human and skip the
+ * rest (see {@link MinimaxBot#setOpponentModel}).
+ *
+ * The model is a softmax over one weight per feature of a square: how many
+ * pieces a move there turns over, how many pieces of the mover and how many
+ * empty squares are next to it (each 0 to 4, one weight per count), and whether
+ * it is on the edge or in a corner. It is trained by OpponentModelTrainer from
+ * logged games, see {@link GameLog}.
+ *
+ * The file holds MAGIC, VERSION, the number of weights and the weights as
+ * floats, big-endian.
+ *
+ */
+public final class OpponentModel {
+    /** The model of a player who picks every square alike. */
+    public static final OpponentModel NONE = new OpponentModel(new float[OpponentModel.FEATURES]);
+
+    static final int MAGIC = 0x4F50504D;
+    static final int VERSION = 1;
+    /** The first weight of each group: counts of flips, own neighbours, empty neighbours, then edge and corner. */
+    static final int FLIPS = 0;
+    static final int OWN = 5;
+    static final int EMPTY = 10;
+    static final int EDGE = 15;
+    static final int CORNER = 16;
+    static final int FEATURES = 17;
+    /** The most features a square has. */
+    static final int ACTIVE = 5;
+
+    private static final long BORDER = 0xFF818181818181FFL;
+    private static final long CORNERS = 0x8100000000000081L;
+
+    final float[] weights;
+    /** The exponent of every weight, so a move's probability is a product, not a sum to exponentiate. */
+    private final float[] factors = new float[FEATURES];
+
+    OpponentModel(float[] weights) {
+        this.weights = weights;
+        this.update();
+    }
+
+    /**
+     * Recompute the factors after the weights changed.
+     */
+    void update() {
+        for (int i = 0; i < FEATURES; i++) {
+            this.factors[i] = (float) Math.exp(this.weights[i]);
+        }
+    }
+
+    /**
+     * Get the model of the human player: the one in the file named by the
+     * bot.opponentModel system property (default opponent.bin), or NONE if there
+     * is no such file. Bots use it only against a human, see
+     * {@link MinimaxBot#setOpponentModel(OpponentModel, double)}.
+     *
+     * @return The model.
+     *
+     * @throws UncheckedIOException If the file exists but cannot be read.
+     */
+    public static OpponentModel standard() {
+        return Standard.MODEL;
+    }
+
+    /**
+     * Read a model file.
+     *
+     * @param file The file written by {@link #save(Path)}.
+     *
+     * @return The model.
+     *
+     * @throws IOException If the file cannot be read or is not a model file.
+     */
+    public static OpponentModel load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != FEATURES) {
+                throw new IOException(file + " is not an opponent model of version " + VERSION);
+            }
+            float[] weights = new float[FEATURES];
+            for (int i = 0; i < FEATURES; i++) {
+                weights[i] = in.readFloat();
+            }
+            return new OpponentModel(weights);
+        }
+    }
+
+    /**
+     * Write the model to a file.
+     *
+     * @param file The file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(FEATURES);
+            for (float weight : this.weights) {
+                out.writeFloat(weight);
+            }
+        }
+    }
+
+    /**
+     * Find the features of a move.
+     *
+     * @param own    The squares of the player to move.
+     * @param opp    The squares of the other player.
+     * @param square The empty square of the move.
+     * @param active Gets the indexes of the features the move has, ACTIVE at most.
+     *
+     * @return The number of features.
+     */
+    static int features(long own, long opp, int square, int[] active) {
+        long around = BitBoard.neighboursOf(square);
+        active[0] = FLIPS + Long.bitCount(around & opp);
+        active[1] = OWN + Long.bitCount(around & own);
+        active[2] = EMPTY + Long.bitCount(around & ~(own | opp));
+        int count = 3;
+        long bit = 1L << square;
+        if ((bit & CORNERS) != 0) {
+            active[count++] = CORNER;
+        } else if ((bit & BORDER) != 0) {
+            active[count++] = EDGE;
+        }
+        return count;
+    }
+
+    /**
+     * Rank the moves of the player to move, most likely first.
+     *
+     * @param own           The squares of the player to move.
+     * @param opp           The squares of the other player.
+     * @param squares       Gets the empty squares, most likely first.
+     * @param probabilities Gets the probability of each of them.
+     *
+     * @return The number of empty squares.
+     */
+    public int rank(long own, long opp, int[] squares, float[] probabilities) {
+        long empty = ~(own | opp);
+        float[] factors = this.factors;
+        int count = 0;
+        float sum = 0;
+        for (long free = empty; free != 0; free &= free - 1) {
+            int square = Long.numberOfTrailingZeros(free);
+            long around = BitBoard.neighboursOf(square);
+            long bit = 1L << square;
+            // The features of features(), inlined: this runs at every node the player moves at.
+            float weight = factors[FLIPS + Long.bitCount(around & opp)] * factors[OWN + Long.bitCount(around & own)]
+                    * factors[EMPTY + Long.bitCount(around & empty)]
+                    * ((bit & CORNERS) != 0 ? factors[CORNER] : (bit & BORDER) != 0 ? factors[EDGE] : 1);
+            sum += weight;
+            // Insertion sort, since there are at most 64 moves.
+            int i = count++;
+            for (; i > 0 && probabilities[i - 1] < weight; i--) {
+                probabilities[i] = probabilities[i - 1];
+                squares[i] = squares[i - 1];
+            }
+            probabilities[i] = weight;
+            squares[i] = square;
+        }
+        for (int i = 0; i < count; i++) {
+            probabilities[i] /= sum;
+        }
+        return count;
+    }
+
+    /**
+     * Holds the standard model, loaded on first use.
+     */
+    private static final class Standard {
+        private static final OpponentModel MODEL = load(Paths.get(System.getProperty("bot.opponentModel",
+                "opponent.bin")));
+
+        private Standard() {
+        }
+
+        private static OpponentModel load(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return NONE;
+            }
+            try {
+                return OpponentModel.load(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
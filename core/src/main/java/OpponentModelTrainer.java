@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The OpponentModelTrainer class. It trains an {@link OpponentModel} on the
+ * moves of player X in logged games, the human in games logged by the UI, and
+ * writes the model file the bots read when they play a human in the UI.
+ *
+ * Usage:
+ * <pre>
+ * OpponentModelTrainer &lt;model&gt; &lt;log&gt;...
+ * OpponentModelTrainer &lt;model&gt; standin &lt;bot&gt; &lt;games&gt; &lt;log&gt; [moveMs]
+ * </pre>
+ * The second form first appends games of the bot as X against minimax to the
+ * log, for trying the model out without human games, and afterwards plays
+ * minimax with and without the model against the bot again, with moveMs per
+ * move (default 0, no deadline), to compare win rate and move times.
+ *
+ * The model is fitted by stochastic gradient descent on the log likelihood of
+ * the moves played. Every fifth game is held out, and the report shows for
+ * those games the log loss, how often the likeliest move was the one played,
+ * and how many replies MinimaxBot searches at a few coverages and how often the
+ * reply played is among them.
+ *
+ */
+public class OpponentModelTrainer {
+    private static final int EPOCHS = 30;
+    private static final float RATE = 0.05f;
+    private static final double[] COVERAGES = { 0.8, 0.9, 0.95 };
+    private static final int MIN_REPLIES = 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args[1].equals("standin") && args.length < 5) {
+            System.err.println("Usage: OpponentModelTrainer <model> <log>...");
+            System.err.println("       OpponentModelTrainer <model> standin <bot> <games> <log> [moveMs]");
+            System.exit(2);
+        }
+        Path model = Paths.get(args[0]);
+        boolean standIn = args[1].equals("standin");
+        List<Path> logs = new ArrayList<>();
+        if (standIn) {
+            logs.add(Paths.get(args[4]));
+            record(logs.get(0), args[2], Integer.parseInt(args[3]));
+        } else {
+            for (int i = 1; i < args.length; i++) {
+                logs.add(Paths.get(args[i]));
+            }
+        }
+
+        List<long[]> train = new ArrayList<>();
+        List<long[]> test = new ArrayList<>();
+        int games = 0;
+        for (Path log : logs) {
+            for (GameLog.Game game : GameLog.read(log)) {
+                positions(game, games++ % 5 == 4 ? test : train);
+            }
+        }
+        System.out.printf("%d games, %d moves of X to train on, %d held out%n", games, train.size(), test.size());
+        if (train.isEmpty()) {
+            System.exit(1);
+        }
+
+        OpponentModel trained = new OpponentModel(new float[OpponentModel.FEATURES]);
+        SplittableRandom random = new SplittableRandom(1);
+        report(0, OpponentModel.NONE, test);
+        for (int epoch = 1; epoch <= EPOCHS; epoch++) {
+            // Shuffle, then one step per move.
+            for (int i = train.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                long[] swap = train.get(i);
+                train.set(i, train.get(j));
+                train.set(j, swap);
+            }
+            for (long[] position : train) {
+                step(trained, position, RATE);
+            }
+            if (epoch % 10 == 0) {
+                report(epoch, trained, test);
+            }
+        }
+        trained.save(model);
+        System.out.println("Wrote " + model);
+
+        if (standIn) {
+            long moveBudget = args.length > 5 ? Long.parseLong(args[5]) * 1_000_000L : 0;
+            compare(trained, args[2], Integer.parseInt(args[3]), moveBudget);
+        }
+    }
+
+    /**
+     * Play games of a bot as X against minimax and append them to a log.
+     */
+    private static void record(Path log, String bot, int games) throws IOException {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int g = 0; g < games; g++) {
+            List<Integer> moves = new ArrayList<>();
+            boolean oFirst = (g & 1) != 0;
+            Tournament.play(new MinimaxBot(), Bot.create(bot, random.split()), true, oFirst, 28, 0,
+                    new Tournament.Result(), moves);
+            GameLog.append(log, "minimax", 28, oFirst, moves);
+        }
+    }
+
+    /**
+     * Replay a game and collect the positions where X moved.
+     *
+     * @param game      The game.
+     * @param positions Gets {x, o, square} before every move of X.
+     */
+    private static void positions(GameLog.Game game, List<long[]> positions) {
+        long x = Rules.START_X;
+        long o = Rules.START_O;
+        for (int i = 0; i < game.squares.length; i++) {
+            int square = game.squares[i];
+            if (game.byX[i]) {
+                positions.add(new long[] { x, o, square });
+                long flipped = Rules.flips(square, o);
+                x |= (1L << square) | flipped;
+                o &= ~flipped;
+            } else {
+                long flipped = Rules.flips(square, x);
+                o |= (1L << square) | flipped;
+                x &= ~flipped;
+            }
+        }
+    }
+
+    /**
+     * Move the weights along the gradient of the log likelihood of one move: up
+     * by the features of the move played, down by those of every move weighted
+     * by its probability.
+     */
+    private static void step(OpponentModel model, long[] position, float rate) {
+        long own = position[0];
+        long opp = position[1];
+        int played = (int) position[2];
+        int[] squares = new int[BitBoard.SQUARES];
+        float[] probabilities = new float[BitBoard.SQUARES];
+        int count = model.rank(own, opp, squares, probabilities);
+        int[] active = new int[OpponentModel.ACTIVE];
+        float[] weights = model.weights;
+        for (int i = 0; i < count; i++) {
+            float gradient = (squares[i] == played ? 1 : 0) - probabilities[i];
+            for (int f = OpponentModel.features(own, opp, squares[i], active) - 1; f >= 0; f--) {
+                weights[active[f]] += rate * gradient;
+            }
+        }
+        model.update();
+    }
+
+    /**
+     * Print how well a model predicts the held out moves.
+     */
+    private static void report(int epoch, OpponentModel model, List<long[]> test) {
+        if (test.isEmpty()) {
+            return;
+        }
+        int[] squares = new int[BitBoard.SQUARES];
+        float[] probabilities = new float[BitBoard.SQUARES];
+        double loss = 0;
+        int top = 0;
+        long moves = 0;
+        long[] kept = new long[COVERAGES.length];
+        int[] hits = new int[COVERAGES.length];
+        for (long[] position : test) {
+            int count = model.rank(position[0], position[1], squares, probabilities);
+            int rank = 0;
+            while (squares[rank] != (int) position[2]) {
+                rank++;
+            }
+            loss -= Math.log(probabilities[rank]);
+            top += rank == 0 ? 1 : 0;
+            moves += count;
+            for (int c = 0; c < COVERAGES.length; c++) {
+                // The replies MinimaxBot searches at this coverage.
+                double covered = 0;
+                int searched = 0;
+                while (searched < count && (searched < MIN_REPLIES || covered < COVERAGES[c])) {
+                    covered += probabilities[searched++];
+                }
+                kept[c] += searched;
+                hits[c] += rank < searched ? 1 : 0;
+            }
+        }
+        int n = test.size();
+        StringBuilder sb = new StringBuilder();
+        for (int c = 0; c < COVERAGES.length; c++) {
+            sb.append(String.format("  %.2f: %4.1f%% searched, %5.1f%% hit", COVERAGES[c], 100.0 * kept[c] / moves,
+                    100.0 * hits[c] / n));
+        }
+        System.out.printf("epoch %2d: log loss %.3f, top move %5.1f%%%s%n", epoch, loss / n, 100.0 * top / n, sb);
+    }
+
+    /**
+     * Play minimax without and with the model against the bot it was trained on.
+     */
+    private static void compare(OpponentModel model, String bot, int games, long moveBudget) {
+        for (OpponentModel tried : new OpponentModel[] { OpponentModel.NONE, model }) {
+            Tournament.Result result = Tournament.run(random -> {
+                MinimaxBot minimax = new MinimaxBot(new EvalCache(1 << 16));
+                minimax.setOpponentModel(tried, 0.9);
+                return minimax;
+            }, random -> Bot.create(bot, random), games, 28, moveBudget, 3);
+            System.out.println((tried == OpponentModel.NONE ? "minimax" : "minimax with model") + " vs " + bot
+                    + ": " + result);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The Perft class. It walks the whole game tree below a position to a fixed
+ * depth and counts its leaves, as a correctness check and speed benchmark of the
+ * move generation and capture rule apart from any evaluation.
+ *
+ * Every empty square is a legal move, so the number of leaves alone only checks
+ * the rounds: the tree ends early, and a leaf is counted there, when the last
+ * round is over. Every leaf therefore also adds the pieces its last move
+ * turned over and the piece difference X - O of the position, which depend on
+ * every capture on the way.
+ *
+ * Usage: Perft [depth] [rounds] [threads] [bulk|plain|divide] [board] [botFirst]
+ * <br>
+ * Usage: Perft check
+ *
+ * The position defaults to the start of a game with X to move. A board is 64
+ * characters of X, O and '.', row by row, as in the {@link GameServer} protocol.
+ * Bulk counting scores the last ply from the neighbour masks without playing
+ * it. With more than one thread the root moves are split over the threads.
+ * Divide prints the counts below every root move, to find where two
+ * implementations part. Check compares every mode with the reference counts
+ * below and with a plain String-grid walk, and exits with status 1 on a
+ * difference; PerftTest makes the same comparisons in mvn test.
+ *
+ */
+public class Perft {
+    /**
+     * The counts of a tree. Adding counts of subtrees in any order gives the same
+     * result, so split trees add up exactly.
+     */
+    public static final class Counts {
+        public long leaves;
+        /** Leaves whose last move turned over at least one piece. */
+        public long captures;
+        /** Pieces turned over by the last moves of all leaves. */
+        public long flips;
+        /** The sum of X - O over all leaves. */
+        public long score;
+
+        private void add(Counts other) {
+            this.leaves += other.leaves;
+            this.captures += other.captures;
+            this.flips += other.flips;
+            this.score += other.score;
+        }
+
+        private boolean matches(long[] expected) {
+            return this.leaves == expected[0] && this.captures == expected[1] && this.flips == expected[2]
+                    && this.score == expected[3];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("leaves=%d captures=%d flips=%d score=%d", this.leaves, this.captures, this.flips,
+                    this.score);
+        }
+    }
+
+    // { depth, rounds, botFirst (1 or 0), leaves, captures, flips, score } from the start position.
+    static final long[][] START_REFERENCE = {
+            { 1, 28, 0, 56L, 4L, 4L, 64L },
+            { 2, 28, 0, 3080L, 404L, 414L, -388L },
+            { 3, 28, 0, 166320L, 22182L, 22740L, 190848L },
+            { 4, 28, 0, 8814960L, 1652496L, 1735212L, -2170440L },
+            { 5, 28, 0, 458377920L, 88016984L, 92558640L, 530632320L },
+            { 4, 28, 1, 8814960L, 1652496L, 1735212L, 2170440L },
+            { 3, 1, 0, 3080L, 404L, 414L, -388L },
+            { 5, 2, 1, 8814960L, 1652496L, 1735212L, 2170440L },
+    };
+    // The same from MIDGAME, 24 moves into a game.
+    static final long[][] MIDGAME_REFERENCE = {
+            { 1, 16, 0, 32L, 9L, 10L, 180L },
+            { 2, 16, 0, 992L, 439L, 559L, 3470L },
+            { 3, 16, 0, 29760L, 10564L, 12116L, 158092L },
+            { 4, 16, 0, 863040L, 430166L, 559458L, 2602712L },
+            { 5, 16, 0, 24165120L, 10207526L, 12118712L, 121278480L },
+            { 4, 2, 1, 863040L, 361845L, 429828L, 3243688L },
+            { 5, 2, 0, 863040L, 430166L, 559458L, 2602712L },
+    };
+    static final String MIDGAME = "....OOXO..X..XXXX.XOXXXXXOOX....XOOO....OXOO....OX.O....XX......";
+
+    private final boolean isBotFirst;
+    private final boolean bulk;
+
+    /**
+     * Create a tree walker.
+     *
+     * @param isBotFirst True if O moves first in a round, which decides when the
+     *                   rounds end.
+     * @param bulk       True to count the last ply without playing it.
+     */
+    public Perft(boolean isBotFirst, boolean bulk) {
+        this.isBotFirst = isBotFirst;
+        this.bulk = bulk;
+    }
+
+    /**
+     * Count the tree below a position.
+     *
+     * @param x          The squares of player X.
+     * @param o          The squares of player O.
+     * @param xToMove    True if X moves next.
+     * @param roundsLeft The number of rounds left.
+     * @param depth      The number of moves to look ahead.
+     * @param threads    The number of threads to split the root moves over.
+     *
+     * @return The counts.
+     */
+    public Counts perft(long x, long o, boolean xToMove, int roundsLeft, int depth, int threads) {
+        Counts counts = new Counts();
+        if (threads <= 1 || depth < 2 || roundsLeft <= 0 || (x | o) == BitBoard.FULL) {
+            this.walk(x, o, xToMove, roundsLeft, depth, 0, counts);
+            return counts;
+        }
+        long[] moves = squares(~(x | o));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // Every root move fills its own counts, added in move order.
+            Counts[] parts = pool.submit(() -> IntStream.range(0, moves.length).parallel()
+                    .mapToObj(m -> this.child(x, o, xToMove, roundsLeft, depth, (int) moves[m]))
+                    .toArray(Counts[]::new)).join();
+            for (Counts part : parts) {
+                counts.add(part);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return counts;
+    }
+
+    /**
+     * Count the tree below every root move.
+     *
+     * @return The counts below each empty square, in square order.
+     */
+    public Counts[] divide(long x, long o, boolean xToMove, int roundsLeft, int depth) {
+        long[] moves = squares(~(x | o));
+        Counts[] parts = new Counts[moves.length];
+        for (int m = 0; m < moves.length; m++) {
+            parts[m] = this.child(x, o, xToMove, roundsLeft, depth, (int) moves[m]);
+        }
+        return parts;
+    }
+
+    private Counts child(long x, long o, boolean xToMove, int roundsLeft, int depth, int square) {
+        Counts counts = new Counts();
+        long changed = Rules.changed(square, xToMove ? o : x);
+        long flipped = Long.bitCount(changed) - 1;
+        int rounds = Rules.endsRound(xToMove, this.isBotFirst) ? roundsLeft - 1 : roundsLeft;
+        if (xToMove) {
+            this.walk(x | changed, o & ~changed, false, rounds, depth - 1, flipped, counts);
+        } else {
+            this.walk(x & ~changed, o | changed, true, rounds, depth - 1, flipped, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * Walk the tree by copy-make: the bitboards of a child are new locals, so
+     * there is nothing to unmake.
+     *
+     * @param flipped The pieces turned over by the move into this position.
+     */
+    private void walk(long x, long o, boolean xToMove, int roundsLeft, int depth, long flipped, Counts counts) {
+        long empty = ~(x | o);
+        if (depth == 0 || roundsLeft <= 0 || empty == 0) {
+            counts.leaves++;
+            counts.captures += flipped != 0 ? 1 : 0;
+            counts.flips += flipped;
+            counts.score += Long.bitCount(x) - Long.bitCount(o);
+            return;
+        }
+        long own = xToMove ? x : o;
+        long opp = xToMove ? o : x;
+
+        if (this.bulk && depth == 1) {
+            // Every child is a leaf. A move on s turns over the opponent pieces next
+            // to s, so the flips of all moves are the empty neighbours of every
+            // opponent piece, and each move changes the difference by 1 + 2 flips.
+            long moves = Long.bitCount(empty);
+            long flips = 0;
+            for (long pieces = opp; pieces != 0; pieces &= pieces - 1) {
+                flips += Long.bitCount(BitBoard.neighboursOf(Long.numberOfTrailingZeros(pieces)) & empty);
+            }
+            long difference = (Long.bitCount(own) - Long.bitCount(opp)) * moves + moves + 2 * flips;
+            counts.leaves += moves;
+            counts.captures += Long.bitCount(BitBoard.neighbours(opp) & empty);
+            counts.flips += flips;
+            counts.score += xToMove ? difference : -difference;
+            return;
+        }
+
+        int rounds = Rules.endsRound(xToMove, this.isBotFirst) ? roundsLeft - 1 : roundsLeft;
+        for (; empty != 0; empty &= empty - 1) {
+            int square = Long.numberOfTrailingZeros(empty);
+            long turned = Rules.flips(square, opp);
+            long newOwn = own | (1L << square) | turned;
+            long newOpp = opp & ~turned;
+            if (xToMove) {
+                this.walk(newOwn, newOpp, false, rounds, depth - 1, Long.bitCount(turned), counts);
+            } else {
+                this.walk(newOpp, newOwn, true, rounds, depth - 1, Long.bitCount(turned), counts);
+            }
+        }
+    }
+
+    private static long[] squares(long bits) {
+        long[] squares = new long[Long.bitCount(bits)];
+        for (int n = 0; bits != 0; bits &= bits - 1) {
+            squares[n++] = Long.numberOfTrailingZeros(bits);
+        }
+        return squares;
+    }
+
+    /**
+     * Count the same tree on a char grid, with a bounds check for each of the four
+     * neighbours and no bitboards, to check the fast paths against.
+     */
+    static void slowWalk(char[] grid, boolean xToMove, int roundsLeft, boolean isBotFirst, int depth, int flipped,
+            Counts counts) {
+        int x = 0;
+        int o = 0;
+        boolean full = true;
+        for (char c : grid) {
+            x += c == 'X' ? 1 : 0;
+            o += c == 'O' ? 1 : 0;
+            full &= c != '.';
+        }
+        if (depth == 0 || roundsLeft <= 0 || full) {
+            counts.leaves++;
+            counts.captures += flipped != 0 ? 1 : 0;
+            counts.flips += flipped;
+            counts.score += x - o;
+            return;
+        }
+        char player = xToMove ? 'X' : 'O';
+        char other = xToMove ? 'O' : 'X';
+        boolean endsRound = xToMove == isBotFirst;
+        for (int square = 0; square < grid.length; square++) {
+            if (grid[square] != '.') {
+                continue;
+            }
+            char[] next = grid.clone();
+            next[square] = player;
+            int i = square / 8;
+            int j = square % 8;
+            int turned = 0;
+            int[][] adjacent = { { i - 1, j }, { i + 1, j }, { i, j - 1 }, { i, j + 1 } };
+            for (int[] cell : adjacent) {
+                if (cell[0] >= 0 && cell[0] < 8 && cell[1] >= 0 && cell[1] < 8
+                        && next[cell[0] * 8 + cell[1]] == other) {
+                    next[cell[0] * 8 + cell[1]] = player;
+                    turned++;
+                }
+            }
+            slowWalk(next, !xToMove, endsRound ? roundsLeft - 1 : roundsLeft, isBotFirst, depth - 1, turned, counts);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("check")) {
+            System.exit(check() ? 0 : 1);
+        }
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 28;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String mode = args.length > 3 ? args[3] : "bulk";
+        String[][] board = args.length > 4 ? Analyzer.parse(args[4]) : Rules.toBoard(Rules.START_X, Rules.START_O);
+        boolean isBotFirst = args.length > 5 && Boolean.parseBoolean(args[5]);
+        long x = Rules.bits(board, "X");
+        long o = Rules.bits(board, "O");
+
+        Perft perft = new Perft(isBotFirst, !mode.equals("plain"));
+        long start = System.nanoTime();
+        Counts counts;
+        if (mode.equals("divide")) {
+            counts = new Counts();
+            long[] moves = squares(~(x | o));
+            Counts[] parts = perft.divide(x, o, !isBotFirst, rounds, depth);
+            for (int m = 0; m < moves.length; m++) {
+                System.out.println(moves[m] / 8 + "," + moves[m] % 8 + ": " + parts[m]);
+                counts.add(parts[m]);
+            }
+        } else {
+            counts = perft.perft(x, o, !isBotFirst, rounds, depth, threads);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("perft(%d) rounds=%d %s threads=%d: %s%n", depth, rounds, mode, threads, counts);
+        System.out.printf("%.3fs, %.1fM leaves/s%n", seconds, counts.leaves / seconds / 1e6);
+    }
+
+    /**
+     * Compare bulk, plain, split and String-grid counts with the reference counts.
+     *
+     * @return True if every count matches.
+     */
+    private static boolean check() {
+        boolean ok = true;
+        ok &= check("start", Rules.toBoard(Rules.START_X, Rules.START_O), START_REFERENCE);
+        ok &= check("midgame", Analyzer.parse(MIDGAME), MIDGAME_REFERENCE);
+        System.out.println(ok ? "all counts match" : "COUNT MISMATCH");
+        return ok;
+    }
+
+    private static boolean check(String name, String[][] board, long[][] reference) {
+        long x = Rules.bits(board, "X");
+        long o = Rules.bits(board, "O");
+        char[] grid = Analyzer.format(x, o).toCharArray();
+        boolean ok = true;
+        for (long[] row : reference) {
+            int depth = (int) row[0];
+            int rounds = (int) row[1];
+            boolean isBotFirst = row[2] != 0;
+            long[] expected = { row[3], row[4], row[5], row[6] };
+            String label = String.format("%s perft(%d) rounds=%d botFirst=%b", name, depth, rounds, isBotFirst);
+
+            Counts bulk = new Perft(isBotFirst, true).perft(x, o, !isBotFirst, rounds, depth, 1);
+            Counts split = new Perft(isBotFirst, true).perft(x, o, !isBotFirst, rounds, depth, 4);
+            boolean matches = bulk.matches(expected) && split.matches(expected);
+            // The plain and String-grid walks play every leaf, keep them small.
+            if (bulk.leaves < 50_000_000L) {
+                matches &= new Perft(isBotFirst, false).perft(x, o, !isBotFirst, rounds, depth, 1).matches(expected);
+            }
+            if (bulk.leaves < 2_000_000L) {
+                Counts slow = new Counts();
+                slowWalk(grid, !isBotFirst, rounds, isBotFirst, depth, 0, slow);
+                matches &= slow.matches(expected);
+            }
+            System.out.println((matches ? "ok       " : "MISMATCH ") + label + ": " + bulk);
+            ok &= matches;
+        }
+        return ok;
+    }
+}
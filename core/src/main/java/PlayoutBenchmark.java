@@ -0,0 +1,128 @@
+import java.util.SplittableRandom;
+
+/**
+ * The PlayoutBenchmark class. It measures random playouts per second on one
+ * core, from the start position to a full board, in the ways the code can play
+ * them:
+ * <ul>
+ * <li>one game: a game at a time, every move drawn uniformly from the empty
+ * squares with a SplittableRandom and played with {@link Rules#flips(int, long)},
+ * as the bots on bitboards play;</li>
+ * <li>scalar: {@link Playouts#SCALAR}, the batched games lane after lane;</li>
+ * <li>vector: VectorPlayouts, the batched games several lanes at once, when the
+ * JVM runs with add-modules jdk.incubator.vector, whether or not
+ * {@link Playouts#standard()} picks it on this CPU.</li>
+ * </ul>
+ * The batched versions play the same games, so their score sums must match.
+ *
+ * Usage: PlayoutBenchmark [games] [batch] [repeats]
+ *
+ * (java --add-modules jdk.incubator.vector PlayoutBenchmark, to include the
+ * vector version.)
+ *
+ */
+public class PlayoutBenchmark {
+    private static final int PLIES = BitBoard.SQUARES - 8;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Playouts standard = Playouts.standard();
+        System.out.printf("%d games of %d moves, batches of %d, %d cores, standard playouts: %s%n", games, PLIES,
+                batch, Runtime.getRuntime().availableProcessors(), standard.name());
+        System.out.printf("%-12s %14s %10s %12s%n", "version", "playouts/s", "relative", "score sum");
+        double base = report("one game", games, repeats, () -> oneGame(games), 0);
+        report("scalar", games, repeats, () -> batched(Playouts.SCALAR, games, batch), base);
+        // Also when it is not the standard one, to see what it would do here.
+        Playouts vector = Playouts.vector();
+        if (vector != null) {
+            report(vector.name(), games, repeats, () -> batched(vector, games, batch), base);
+        }
+    }
+
+    /**
+     * One run of a version.
+     */
+    private interface Run {
+        /**
+         * Play the games.
+         *
+         * @return The sum of the final scores of X.
+         */
+        long play();
+    }
+
+    /**
+     * Time the best of some runs, after two to warm up the JIT, and print its
+     * line.
+     *
+     * @return The playouts per second of the best run.
+     */
+    private static double report(String name, int games, int repeats, Run run, double base) {
+        long best = Long.MAX_VALUE;
+        long sum = 0;
+        for (int r = 0; r < repeats + 2; r++) {
+            long start = System.nanoTime();
+            sum = run.play();
+            long time = System.nanoTime() - start;
+            if (r >= 2) {
+                best = Math.min(best, time);
+            }
+        }
+        double rate = games / (best / 1e9);
+        System.out.printf("%-12s %14.0f %9.2fx %12d%n", name, rate, base == 0 ? 1 : rate / base, sum);
+        return rate;
+    }
+
+    /**
+     * Play games one at a time with uniformly random moves.
+     *
+     * @return The sum of the final scores of X.
+     */
+    private static long oneGame(int games) {
+        SplittableRandom random = new SplittableRandom(1);
+        long sum = 0;
+        for (int g = 0; g < games; g++) {
+            long mover = Rules.START_X;
+            long other = Rules.START_O;
+            for (int ply = 0; ply < PLIES; ply++) {
+                int square = BitBoard.randomSquare(~(mover | other), random);
+                long flipped = Rules.flips(square, other);
+                long moved = mover | (1L << square) | flipped;
+                mover = other & ~flipped;
+                other = moved;
+            }
+            sum += Rules.score(mover, other);
+        }
+        return sum;
+    }
+
+    /**
+     * Play games in batches from the same seeds every run.
+     *
+     * @return The sum of the final scores of X.
+     */
+    private static long batched(Playouts playouts, int games, int batch) {
+        long[] own = new long[batch];
+        long[] opp = new long[batch];
+        long[] seeds = new long[batch];
+        int[] scores = new int[batch];
+        SplittableRandom random = new SplittableRandom(1);
+        long sum = 0;
+        for (int played = 0; played < games; played += batch) {
+            int count = Math.min(batch, games - played);
+            for (int i = 0; i < count; i++) {
+                own[i] = Rules.START_X;
+                opp[i] = Rules.START_O;
+                seeds[i] = random.nextLong() | 1;
+            }
+            playouts.play(own, opp, seeds, count, PLIES, scores);
+            for (int i = 0; i < count; i++) {
+                sum += scores[i];
+            }
+        }
+        return sum;
+    }
+}
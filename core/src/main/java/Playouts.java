@@ -0,0 +1,171 @@
+/**
+ * The Playouts interface. It plays many independent random games at once, in
+ * lockstep: every game is one lane of long arrays holding its bitboards, and
+ * every step of the batch makes one move in every lane.
+ *
+ * A random move is the first empty square at or after a random square, going
+ * round the board by bit index. That needs no per-lane branches or bit scans,
+ * only shifts and masks, so a whole step can run as vector operations (see
+ * VectorPlayouts). It favours squares after a run of taken ones, unlike
+ * {@link RandomBot}. The random squares come from one xorshift generator per
+ * lane, so every implementation plays the same games from the same seeds.
+ *
+ */
+public interface Playouts {
+    /** The implementation on plain longs, for JVMs without the Vector API. */
+    Playouts SCALAR = new Scalar();
+
+    /**
+     * Play a batch of random games.
+     *
+     * @param own    The squares of the player to move first, per lane.
+     * @param opp    The squares of the other player, per lane.
+     * @param seeds  The xorshift state per lane, not 0. It is advanced, so the
+     *               next batch from the same seeds plays new games.
+     * @param count  The number of lanes, from 0.
+     * @param plies  The number of moves to play; lanes whose board fills up
+     *               before stop there.
+     * @param scores The final piece difference for the player who moved first,
+     *               per lane.
+     */
+    void play(long[] own, long[] opp, long[] seeds, int count, int plies, int[] scores);
+
+    /**
+     * Get the name of the implementation, for reports.
+     *
+     * @return The name.
+     */
+    String name();
+
+    /**
+     * Get the fastest implementation this JVM can run: the one on the Vector API
+     * when the jdk.incubator.vector module is present (java --add-modules
+     * jdk.incubator.vector), the CPU's vectors hold at least 8 games (AVX-512;
+     * with 4, on AVX2, SCALAR is faster) and the bot.vector system property is
+     * not false, else SCALAR.
+     *
+     * @return The implementation.
+     */
+    static Playouts standard() {
+        return Standard.PLAYOUTS;
+    }
+
+    /**
+     * Get the implementation on the Vector API, whether or not it is the
+     * standard one, for comparing the two.
+     *
+     * @return The implementation, or null if the jdk.incubator.vector module is
+     *         not present.
+     */
+    static Playouts vector() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() ? new VectorPlayouts() : null;
+    }
+
+    /**
+     * Get an evaluator that plays random games from the position to the end of
+     * the game and averages their results. The seeds come from the position, so
+     * the evaluator scores a position the same way every time.
+     *
+     * @param playouts The implementation to play the games with.
+     * @param games    The number of games per position.
+     *
+     * @return The evaluator.
+     */
+    static Evaluator evaluator(Playouts playouts, int games) {
+        return (own, opp) -> {
+            long[] ownLanes = new long[games];
+            long[] oppLanes = new long[games];
+            long[] seeds = new long[games];
+            long seed = Zobrist.hash(own, opp);
+            for (int i = 0; i < games; i++) {
+                // The player to move plays first in every lane.
+                ownLanes[i] = opp;
+                oppLanes[i] = own;
+                seeds[i] = Zobrist.mix(seed, i) | 1;
+            }
+            int[] scores = new int[games];
+            playouts.play(ownLanes, oppLanes, seeds, games, Long.bitCount(~(own | opp)), scores);
+            long sum = 0;
+            for (int score : scores) {
+                sum -= score;
+            }
+            return (int) (sum * Evaluator.UNIT / games);
+        };
+    }
+
+    /**
+     * Advance an xorshift generator.
+     *
+     * @param state The state, not 0.
+     *
+     * @return The next state, not 0.
+     */
+    static long next(long state) {
+        state ^= state << 13;
+        state ^= state >>> 7;
+        return state ^ state << 17;
+    }
+
+    /**
+     * Plays one lane after the other on plain longs.
+     */
+    final class Scalar implements Playouts {
+        private Scalar() {
+        }
+
+        @Override
+        public void play(long[] own, long[] opp, long[] seeds, int count, int plies, int[] scores) {
+            play(own, opp, seeds, 0, count, plies, scores);
+        }
+
+        /**
+         * Play the lanes from start up to end, see
+         * {@link Playouts#play(long[], long[], long[], int, int, int[])}.
+         */
+        static void play(long[] own, long[] opp, long[] seeds, int start, int end, int plies, int[] scores) {
+            for (int i = start; i < end; i++) {
+                long mover = own[i];
+                long other = opp[i];
+                long seed = seeds[i];
+                for (int ply = 0; ply < plies; ply++) {
+                    seed = next(seed);
+                    int from = (int) (seed >>> 58);
+                    long rotated = Long.rotateRight(~(mover | other), from);
+                    long square = Long.rotateLeft(rotated & -rotated, from);
+                    long flipped = BitBoard.neighbours(square) & other;
+                    long moved = mover | square | flipped;
+                    mover = other & ~flipped;
+                    other = moved;
+                }
+                seeds[i] = seed;
+                int score = Long.bitCount(mover) - Long.bitCount(other);
+                scores[i] = (plies & 1) == 0 ? score : -score;
+            }
+        }
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+    }
+
+    /**
+     * Holds the standard implementation, picked on first use.
+     */
+    final class Standard {
+        /** The fewest lanes at which the vector version beats SCALAR. */
+        private static final int MIN_LANES = 8;
+        private static final Playouts PLAYOUTS = pick();
+
+        private Standard() {
+        }
+
+        private static Playouts pick() {
+            if (!Boolean.parseBoolean(System.getProperty("bot.vector", "true"))) {
+                return SCALAR;
+            }
+            Playouts vector = vector();
+            return vector != null && VectorPlayouts.lanes() >= MIN_LANES ? vector : SCALAR;
+        }
+    }
+}
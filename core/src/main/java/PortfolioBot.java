@@ -0,0 +1,308 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PortfolioBot class. No single bot is best everywhere, so this bot runs
+ * several of them at once, each on its own thread and its own copy of the
+ * board, under one shared deadline. A {@link Policy} picks one of the answers,
+ * and the searches that are still running are cancelled by interrupting their
+ * threads, which {@link Bot#isExpired(long)} treats as a passed deadline.
+ *
+ * The components get a deadline a little before the real one, so their answers
+ * are in when it passes. Without a deadline the bot takes the bot.portfolioMs
+ * system property (default 200) per move. The bot counts which component was
+ * picked in each phase of the game, see {@link #getWins(Phase)}.
+ *
+ */
+public class PortfolioBot extends Bot {
+    /**
+     * How to pick one of the answers.
+     */
+    public enum Policy {
+        /** A proven answer, else the one that looked furthest ahead. Stops at the first proven answer. */
+        PROVEN_THEN_DEEPEST,
+        /** The first answer in. */
+        FIRST_FINISHED,
+        /** The answer of the first component in the list that answered. */
+        ORDER
+    }
+
+    /**
+     * The phases of the game the wins are counted in.
+     */
+    public enum Phase {
+        /** More than 40 empty squares. */
+        OPENING,
+        MIDGAME,
+        /** Few enough empty squares for {@link EndgameBot} to solve. */
+        ENDGAME;
+
+        public static Phase of(int empties) {
+            return empties > 40 ? OPENING : empties > EndgameBot.MAX_EMPTIES ? MIDGAME : ENDGAME;
+        }
+    }
+
+    private static final long DEFAULT_BUDGET = Long.getLong("bot.portfolioMs", 200) * 1_000_000L;
+    /** The most time kept back from the components for picking an answer. */
+    private static final long MAX_MARGIN = 2_000_000L;
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "portfolio-" + THREADS.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Bot[] components;
+    private final Policy policy;
+    private final int[][] wins;
+
+    /**
+     * Create the standard portfolio: the endgame solver, minimax with the
+     * standard evaluator, and hill climbing on one thread.
+     *
+     * @param random The random stream of the hill climbing bot.
+     */
+    public PortfolioBot(SplittableRandom random) {
+        this(Policy.PROVEN_THEN_DEEPEST, new EndgameBot(), new MinimaxBot(EvalCache.shared(), Evaluator.standard()),
+                new HillClimbingBot(HillClimbingBot.Strategy.SIDEWAYS, random, false));
+    }
+
+    /**
+     * Create a portfolio bot.
+     *
+     * @param policy     How to pick one of the answers.
+     * @param components The bots to run, in the order {@link Policy#ORDER} uses.
+     */
+    public PortfolioBot(Policy policy, Bot... components) {
+        if (components.length == 0) {
+            throw new IllegalArgumentException("A portfolio needs at least one bot.");
+        }
+        this.policy = policy;
+        this.components = components.clone();
+        this.wins = new int[Phase.values().length][components.length];
+    }
+
+    public int[] move(String[][] board, int roundsLeft) {
+        return this.move(board, roundsLeft, NO_DEADLINE);
+    }
+
+    /**
+     * Run every component until the policy has its answer or the deadline
+     * passes, then cancel the rest. If no component has answered by the
+     * deadline, the bot waits for the first answer.
+     *
+     * @param board      The current state of the board.
+     * @param roundsLeft The number of rounds left in the game.
+     * @param deadline   The {@link System#nanoTime()} to answer by, or NO_DEADLINE.
+     *
+     * @return The move of the picked component.
+     */
+    @Override
+    public int[] move(String[][] board, int roundsLeft, long deadline) {
+        long start = System.nanoTime();
+        if (deadline == NO_DEADLINE) {
+            deadline = start + DEFAULT_BUDGET;
+        }
+        long inner = deadline - Math.min(MAX_MARGIN, Math.max(0, deadline - start) / 10);
+
+        CompletionService<Answer> answers = new ExecutorCompletionService<>(POOL);
+        Future<?>[] futures = new Future<?>[this.components.length];
+        for (int i = 0; i < this.components.length; i++) {
+            int index = i;
+            Bot bot = this.components[i];
+            String[][] copy = copy(board);
+            futures[i] = answers.submit(() -> {
+                // A cancelled search of the last move may still be unwinding.
+                synchronized (bot) {
+                    int[] move = bot.move(copy, roundsLeft, inner);
+                    return new Answer(index, move, bot.lastDepth(), bot.isProven());
+                }
+            });
+        }
+
+        Answer[] in = new Answer[this.components.length];
+        // Finished components, with or without an answer.
+        boolean[] finished = new boolean[this.components.length];
+        Answer best = null;
+        try {
+            for (int pending = this.components.length; pending > 0; pending--) {
+                Future<Answer> done = best == null ? answers.take()
+                        : answers.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                for (int i = 0; i < futures.length; i++) {
+                    finished[i] |= futures[i] == done;
+                }
+                Answer answer = get(done);
+                if (answer != null) {
+                    in[answer.index] = answer;
+                    best = this.pick(in);
+                }
+                if (best != null && this.isFinal(best, finished)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No bot of the portfolio answered.");
+        }
+        synchronized (this.wins) {
+            this.wins[Phase.of(Long.bitCount(~(bits(board, "O") | bits(board, "X")))).ordinal()][best.index]++;
+        }
+        return best.move;
+    }
+
+    /**
+     * Pick the best of the answers in so far, by the policy.
+     */
+    private Answer pick(Answer[] in) {
+        Answer best = null;
+        for (Answer answer : in) {
+            if (answer == null) {
+                continue;
+            }
+            if (best == null) {
+                best = answer;
+            } else if (this.policy == Policy.FIRST_FINISHED) {
+                best = answer.order < best.order ? answer : best;
+            } else if (this.policy == Policy.PROVEN_THEN_DEEPEST && (answer.proven != best.proven
+                    ? answer.proven : answer.depth > best.depth)) {
+                best = answer;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Check whether the components still running cannot beat the best answer.
+     */
+    private boolean isFinal(Answer best, boolean[] finished) {
+        switch (this.policy) {
+            case FIRST_FINISHED:
+                return true;
+            case PROVEN_THEN_DEEPEST:
+                return best.proven;
+            default:
+                for (int i = 0; i < best.index; i++) {
+                    if (!finished[i]) {
+                        return false;
+                    }
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Get the answer of a finished component.
+     *
+     * @return The answer, or null if the component failed or had no move.
+     */
+    private static Answer get(Future<Answer> done) throws InterruptedException {
+        try {
+            Answer answer = done.get();
+            return answer.move == null ? null : answer;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static String[][] copy(String[][] board) {
+        String[][] copy = new String[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Get how often each component was picked in a phase of the game.
+     *
+     * @param phase The phase.
+     *
+     * @return The counts, in the order of the components.
+     */
+    public int[] getWins(Phase phase) {
+        synchronized (this.wins) {
+            return this.wins[phase.ordinal()].clone();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("PortfolioBot ").append(this.policy);
+        for (Phase phase : Phase.values()) {
+            text.append(String.format("%n  %-8s", phase));
+            int[] counts = this.getWins(phase);
+            for (int i = 0; i < this.components.length; i++) {
+                text.append(String.format(" %s=%d", this.components[i].getClass().getSimpleName(), counts[i]));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * The move of one component, with what the policies need to know about it.
+     */
+    private static final class Answer {
+        private static final AtomicInteger ARRIVALS = new AtomicInteger();
+
+        final int index;
+        final int[] move;
+        final int depth;
+        final boolean proven;
+        final int order = ARRIVALS.getAndIncrement();
+
+        Answer(int index, int[] move, int depth, boolean proven) {
+            this.index = index;
+            this.move = move;
+            this.depth = depth;
+            this.proven = proven;
+        }
+    }
+
+    /**
+     * Play the standard portfolio against minimax and print which component
+     * was picked in each phase.
+     *
+     * Usage: PortfolioBot [games] [moveMs] [seed]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long moveBudget = (args.length > 1 ? Long.parseLong(args[1]) : 20) * 1_000_000L;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        List<PortfolioBot> bots = new ArrayList<>();
+        Tournament.Result result = Tournament.run(r -> {
+            PortfolioBot bot = new PortfolioBot(r);
+            bots.add(bot);
+            return bot;
+        }, r -> new MinimaxBot(EvalCache.shared(), Evaluator.standard()), games, 28, moveBudget, seed);
+        System.out.println("portfolio vs ntuple: " + result);
+        for (Phase phase : Phase.values()) {
+            int[] wins = new int[3];
+            for (PortfolioBot bot : bots) {
+                int[] counts = bot.getWins(phase);
+                for (int i = 0; i < wins.length; i++) {
+                    wins[i] += counts[i];
+                }
+            }
+            System.out.printf("  %-8s endgame=%d minimax=%d hillclimbing=%d%n", phase, wins[0], wins[1], wins[2]);
+        }
+    }
+}
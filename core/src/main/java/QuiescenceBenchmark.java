@@ -0,0 +1,104 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The QuiescenceBenchmark class. It measures whether searching capture-heavy
+ * moves past the horizon of MinimaxBot picks better moves for fewer positions
+ * searched than searching every move one ply deeper.
+ *
+ * Usage: QuiescenceBenchmark [positions] [empties] [seed]
+ *
+ * The positions come from random games, stopped with a number of empty squares
+ * left that is small enough to solve exactly, so the moves of every setting can
+ * be graded against perfect play: the loss of a move is the final piece
+ * difference the best move gets minus the one the move gets. The bot is told
+ * enough rounds are left to fill the board, so only its depth limits it. Every
+ * line of the report is one setting: depth, flip threshold and node budget of
+ * the quiescence search, the share of best moves, the mean loss, and the
+ * positions searched and time taken per move.
+ *
+ */
+public class QuiescenceBenchmark {
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int empties = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long[][] boards = new long[positions][];
+        int[][] values = new int[positions][];
+        long start = System.nanoTime();
+        for (int p = 0; p < positions; p++) {
+            boards[p] = TablebaseGenerator.randomPosition(random, empties);
+            values[p] = solveMoves(boards[p][0], boards[p][1]);
+        }
+        System.out.printf("%d positions with %d empty squares solved in %.1fs%n", positions, empties,
+                (System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-5s %5s %6s %7s %8s %12s %10s%n", "depth", "flips", "budget", "best", "loss",
+                "nodes/move", "time/move");
+        // Depth, flip threshold and node budget, without and then with quiescence.
+        int[][] settings = { { 2, 0, 0 }, { 3, 0, 0 }, { 4, 0, 0 }, { 5, 0, 0 }, { 2, 3, 2000 }, { 3, 2, 2000 },
+                { 3, 3, 500 }, { 3, 3, 2000 }, { 3, 3, 8000 }, { 3, 4, 2000 }, { 4, 3, 2000 } };
+        for (int[] setting : settings) {
+            run(setting[0], setting[1], setting[2], boards, values);
+        }
+    }
+
+    /**
+     * Let one setting of the bot move in every position and print its line.
+     */
+    private static void run(int depth, int flips, int budget, long[][] boards, int[][] values) {
+        int best = 0;
+        long loss = 0;
+        long nodes = 0;
+        long time = 0;
+        for (int p = 0; p < boards.length; p++) {
+            // A fresh cache per move, so no setting profits from the one before.
+            MinimaxBot bot = new MinimaxBot(new EvalCache(1 << 16), Evaluator.MATERIAL, Tablebase.NONE);
+            bot.setDepth(depth);
+            bot.setQuiescence(flips, budget);
+            long o = boards[p][0];
+            long x = boards[p][1];
+            long t0 = System.nanoTime();
+            int[] move = bot.move(Rules.toBoard(x, o), BitBoard.SQUARES);
+            time += System.nanoTime() - t0;
+            nodes += bot.getNodes();
+
+            int square = BitBoard.square(move[0], move[1]);
+            int max = Integer.MIN_VALUE;
+            for (int value : values[p]) {
+                max = Math.max(max, value);
+            }
+            loss += max - values[p][square];
+            if (values[p][square] == max) {
+                best++;
+            }
+        }
+        System.out.printf("%-5d %5s %6s %6.1f%% %8.3f %12.0f %8.3fms%n", depth, budget == 0 ? "-" : flips,
+                budget == 0 ? "-" : budget, 100.0 * best / boards.length, (double) loss / boards.length,
+                (double) nodes / boards.length, time / 1e6 / boards.length);
+    }
+
+    /**
+     * Solve every move of a position exactly.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The final piece difference for own after every move, by square,
+     *         and Integer.MIN_VALUE for the squares taken.
+     */
+    private static int[] solveMoves(long own, long opp) {
+        int[] values = new int[BitBoard.SQUARES];
+        Arrays.fill(values, Integer.MIN_VALUE);
+        for (long empty = ~(own | opp); empty != 0; empty &= empty - 1) {
+            int square = Long.numberOfTrailingZeros(empty);
+            long flipped = Rules.flips(square, opp);
+            long next = own | (1L << square) | flipped;
+            values[square] = -Rules.score(opp & ~flipped, next)
+                    - EndgameBot.solve(opp & ~flipped, next, -BitBoard.SQUARES - 1, BitBoard.SQUARES + 1);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.SplittableRandom;
+
+public class RandomBot extends Bot {
+    private final SplittableRandom random;
+
+    public RandomBot() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Create a random bot that draws its moves from the given stream, so runs
+     * from the same seed make the same moves.
+     *
+     * @param random The random stream, e.g. new SplittableRandom(seed).
+     */
+    public RandomBot(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public int[] move(String[][] board, int roundsLeft) {
+        int[] move = new int[2];
+        int randomRow = this.random.nextInt(8);
+        int randomColumn = this.random.nextInt(8);
+        while (!board[randomRow][randomColumn].equals("")) {
+            randomRow = this.random.nextInt(8);
+            randomColumn = this.random.nextInt(8);
+        }
+        move[0] = randomRow;
+        move[1] = randomColumn;
+        return move;
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The ReplayHarness class. It records a game between a seeded random player X
+ * and a seeded bot O, and replays it later with the same seeds, checking that
+ * the bot makes exactly the same moves and timing every bot move.
+ *
+ * Because the moves and the work done are fixed by the seed, the replay time
+ * only changes when the code does, so a slowdown can be bisected commit by
+ * commit.
+ *
+ * Usage:
+ * <pre>
+ * ReplayHarness record &lt;file&gt; &lt;bot&gt; &lt;seed&gt; [rounds] [botFirst]
+ * ReplayHarness replay &lt;file&gt; [repeats]
+ * </pre>
+ * A replay exits with status 1 when a bot move differs from the record.
+ *
+ */
+public class ReplayHarness {
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 4 && args[0].equals("record")) {
+            int rounds = args.length > 4 ? Integer.parseInt(args[4]) : 28;
+            boolean botFirst = args.length > 5 && Boolean.parseBoolean(args[5]);
+            record(Paths.get(args[1]), args[2], Long.parseLong(args[3]), rounds, botFirst);
+        } else if (args.length >= 2 && args[0].equals("replay")) {
+            int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+            if (!replay(Paths.get(args[1]), repeats)) {
+                System.exit(1);
+            }
+        } else {
+            System.err.println("Usage: ReplayHarness record <file> <bot> <seed> [rounds] [botFirst]");
+            System.err.println("       ReplayHarness replay <file> [repeats]");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Play a game and write it to a file.
+     *
+     * @param file     The file to write.
+     * @param botName  The bot playing O, see {@link Bot#create(String, SplittableRandom)}.
+     * @param seed     The seed of the bot. Player X uses the next seed.
+     * @param rounds   The number of rounds to be played.
+     * @param botFirst True if the bot moves first.
+     */
+    public static void record(Path file, String botName, long seed, int rounds, boolean botFirst)
+            throws IOException {
+        Bot bot = Bot.create(botName, new SplittableRandom(seed));
+        Bot player = new RandomBot(new SplittableRandom(seed + 1));
+        GameSession session = new GameSession(rounds, botFirst);
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# ReplayHarness game record");
+            out.println("bot " + botName);
+            out.println("seed " + seed);
+            out.println("rounds " + rounds);
+            out.println("botFirst " + botFirst);
+            while (!session.isOver()) {
+                boolean xTurn = session.isPlayerXTurn();
+                int[] move = (xTurn ? player : bot).move(session.snapshot(), session.getRoundsLeft());
+                session.play(move[0], move[1]);
+                out.println((xTurn ? "X " : "O ") + move[0] + " " + move[1]);
+            }
+        }
+        System.out.printf("Recorded %s: %s seed %d, X %d - O %d%n", file, botName, seed,
+                session.getPlayerXScore(), session.getPlayerOScore());
+    }
+
+    /**
+     * Replay a recorded game several times, checking every bot move.
+     *
+     * @param file    The recorded game.
+     * @param repeats The number of replays.
+     *
+     * @return True if every replay matched the record.
+     */
+    public static boolean replay(Path file, int repeats) throws IOException {
+        String botName = null;
+        long seed = 0;
+        int rounds = 0;
+        boolean botFirst = false;
+        List<int[]> moves = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] f = line.trim().split("\\s+");
+            if (f[0].isEmpty() || f[0].startsWith("#")) {
+                continue;
+            }
+            switch (f[0]) {
+                case "bot":
+                    botName = f[1];
+                    break;
+                case "seed":
+                    seed = Long.parseLong(f[1]);
+                    break;
+                case "rounds":
+                    rounds = Integer.parseInt(f[1]);
+                    break;
+                case "botFirst":
+                    botFirst = Boolean.parseBoolean(f[1]);
+                    break;
+                case "X":
+                case "O":
+                    moves.add(new int[] { f[0].equals("X") ? 0 : 1, Integer.parseInt(f[1]), Integer.parseInt(f[2]) });
+                    break;
+                default:
+                    throw new IOException("Bad line in " + file + ": " + line);
+            }
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repeats; r++) {
+            // Start every replay cold, otherwise later replays hit the earlier ones' entries.
+            EvalCache.shared().clear();
+            Bot bot = Bot.create(botName, new SplittableRandom(seed));
+            GameSession session = new GameSession(rounds, botFirst);
+            LatencyHistogram times = new LatencyHistogram();
+            long total = 0;
+            int n = 0;
+            for (int[] recorded : moves) {
+                n++;
+                if (recorded[0] == 1) {
+                    long t0 = System.nanoTime();
+                    int[] move = bot.move(session.snapshot(), session.getRoundsLeft());
+                    long t = System.nanoTime() - t0;
+                    times.record(t);
+                    total += t;
+                    if (move[0] != recorded[1] || move[1] != recorded[2]) {
+                        System.out.printf("MISMATCH in replay %d at move %d: recorded O %d %d, got O %d %d%n", r + 1,
+                                n, recorded[1], recorded[2], move[0], move[1]);
+                        return false;
+                    }
+                }
+                session.play(recorded[1], recorded[2]);
+            }
+            best = Math.min(best, total);
+            System.out.printf("replay %d: bot total %.3fms, %s%n", r + 1, total / 1e6, times);
+        }
+        System.out.printf("%s: %d moves identical in %d replays, best bot total %.3fms%n", file, moves.size(),
+                repeats, best / 1e6);
+        return true;
+    }
+}
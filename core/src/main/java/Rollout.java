@@ -0,0 +1,74 @@
+/**
+ * The Rollout class. It plays a plan of future moves out on bitboards against a
+ * greedy opponent, to score plans in the local search and genetic bots.
+ *
+ */
+public final class Rollout {
+    private Rollout() {
+    }
+
+    /**
+     * Play a plan out: each planned move is answered by the greedy reply of the
+     * opponent. A planned square taken in the meantime is replaced by the greedy
+     * move of the player.
+     *
+     * @param own    The squares of the player following the plan.
+     * @param opp    The squares of the opponent.
+     * @param plan   The squares (bit indexes) of the planned moves.
+     * @param offset The index of the first planned move in plan.
+     * @param length The number of planned moves.
+     *
+     * @return The piece difference, player minus opponent, at the end.
+     */
+    public static int play(long own, long opp, int[] plan, int offset, int length) {
+        for (int k = offset; k < offset + length; k++) {
+            long empty = ~(own | opp);
+            if (empty == 0) {
+                break;
+            }
+            int square = plan[k];
+            if ((empty >>> square & 1) == 0) {
+                square = greedy(opp, empty);
+            }
+            long flipped = Rules.flips(square, opp);
+            own |= (1L << square) | flipped;
+            opp &= ~flipped;
+
+            empty = ~(own | opp);
+            if (empty == 0) {
+                break;
+            }
+            int reply = greedy(own, empty);
+            flipped = Rules.flips(reply, own);
+            opp |= (1L << reply) | flipped;
+            own &= ~flipped;
+        }
+        return Rules.score(own, opp);
+    }
+
+    /**
+     * Find the empty square that turns over the most pieces.
+     *
+     * @param victims The pieces that would be turned over.
+     * @param empty   The empty squares, not 0.
+     *
+     * @return The bit index of the square, the lowest one among ties.
+     */
+    public static int greedy(long victims, long empty) {
+        long candidates = empty & BitBoard.neighbours(victims);
+        if (candidates == 0) {
+            return Long.numberOfTrailingZeros(empty);
+        }
+        int best = Long.numberOfTrailingZeros(candidates);
+        int bestCount = 0;
+        for (; candidates != 0; candidates &= candidates - 1) {
+            int square = Long.numberOfTrailingZeros(candidates);
+            int count = Long.bitCount(Rules.flips(square, victims));
+            if (count > bestCount) {
+                bestCount = count;
+                best = square;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * The Rules class. It is the one implementation of the rules of the game, on
+ * bitboards (see {@link BitBoard}), used by GameSession, the controller and every
+ * bot, so they all play the same game.
+ *
+ * A move places a piece on an empty square and turns over every piece of the
+ * opponent orthogonally adjacent to it. Empty squares and the player's own
+ * pieces next to the move do not change. A round is over once both players have
+ * moved, and the game is over when no rounds are left.
+ *
+ * RulesFuzzer checks this class against a plain String-grid implementation of
+ * the same rules.
+ *
+ */
+public final class Rules {
+    /** The starting squares of player X, the 2x2 block in the bottom left corner. */
+    public static final long START_X = BitBoard.bit(BitBoard.ROW - 2, 0) | BitBoard.bit(BitBoard.ROW - 1, 0)
+            | BitBoard.bit(BitBoard.ROW - 2, 1) | BitBoard.bit(BitBoard.ROW - 1, 1);
+    /** The starting squares of player O, the 2x2 block in the top right corner. */
+    public static final long START_O = BitBoard.bit(0, BitBoard.COL - 2) | BitBoard.bit(0, BitBoard.COL - 1)
+            | BitBoard.bit(1, BitBoard.COL - 2) | BitBoard.bit(1, BitBoard.COL - 1);
+
+    private Rules() {
+    }
+
+    /**
+     * Find the pieces a move turns over. The neighbours of every square come from
+     * a table, so with the result f a move is applied as own |= bit | f and
+     * opp &= ~f, without a branch.
+     *
+     * @param square The bit index of the move.
+     * @param opp    The squares of the opponent.
+     *
+     * @return The pieces of the opponent that become the player's.
+     */
+    public static long flips(int square, long opp) {
+        return BitBoard.neighboursOf(square) & opp;
+    }
+
+    /**
+     * Find the squares a move changes.
+     *
+     * @param square The bit index of the move.
+     * @param opp    The squares of the opponent.
+     *
+     * @return The move itself and the pieces it turns over.
+     */
+    public static long changed(int square, long opp) {
+        return (1L << square) | (BitBoard.neighboursOf(square) & opp);
+    }
+
+    /**
+     * Check whether a move is allowed.
+     *
+     * @param square   The bit index of the move, 0 to 63.
+     * @param occupied The squares holding a piece of either player.
+     *
+     * @return True if the square is empty.
+     */
+    public static boolean isLegal(int square, long occupied) {
+        return (occupied >>> square & 1) == 0;
+    }
+
+    /**
+     * Check whether a move ends the round. The round is over after the player who
+     * did not start it has moved.
+     *
+     * @param xMoved     True if player X made the move.
+     * @param isBotFirst True if player O started the game.
+     *
+     * @return True if the round is over after the move.
+     */
+    public static boolean endsRound(boolean xMoved, boolean isBotFirst) {
+        return xMoved == isBotFirst;
+    }
+
+    /**
+     * Get the score of a position for one player.
+     *
+     * @param own The squares of the player.
+     * @param opp The squares of the opponent.
+     *
+     * @return The pieces of the player minus the pieces of the opponent.
+     */
+    public static int score(long own, long opp) {
+        return Long.bitCount(own) - Long.bitCount(opp);
+    }
+
+    /**
+     * Collect the squares of one player into a bitboard.
+     *
+     * @param board  The board, each square holding "X", "O" or "".
+     * @param player The player, "X" or "O".
+     *
+     * @return The squares of the player.
+     */
+    public static long bits(String[][] board, String player) {
+        long bits = 0;
+        for (int i = 0; i < BitBoard.ROW; i++) {
+            for (int j = 0; j < BitBoard.COL; j++) {
+                if (board[i][j].equals(player)) {
+                    bits |= BitBoard.bit(i, j);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Write two bitboards out as a board in the text form the bots read.
+     *
+     * @param x The squares of player X.
+     * @param o The squares of player O.
+     *
+     * @return The board, each square holding "X", "O" or "".
+     */
+    public static String[][] toBoard(long x, long o) {
+        String[][] board = new String[BitBoard.ROW][BitBoard.COL];
+        for (int i = 0; i < BitBoard.ROW; i++) {
+            for (int j = 0; j < BitBoard.COL; j++) {
+                long b = BitBoard.bit(i, j);
+                board[i][j] = (x & b) != 0 ? "X" : (o & b) != 0 ? "O" : "";
+            }
+        }
+        return board;
+    }
+}
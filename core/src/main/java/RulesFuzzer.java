@@ -0,0 +1,227 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+/**
+ * The RulesFuzzer class. It plays random games on GameSession, which runs on the
+ * {@link Rules} kernel, and on a plain String-grid implementation of the rules
+ * written the way the controller first did it, and checks after every move that
+ * both agree on every square, the changed squares, the scores, the turn and the
+ * rounds left. Every few moves it also tries a move on an occupied square, which
+ * both must refuse.
+ *
+ * Usage: RulesFuzzer [games] [seed]
+ *
+ * Game g is played from new SplittableRandom(seed + g), so a reported mismatch
+ * can be replayed on its own. The games run on all cores. Exits with status 1 on
+ * the first mismatch.
+ *
+ */
+public class RulesFuzzer {
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+        AtomicLong moves = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+        LongStream.range(0, games).parallel().forEach(g -> {
+            if (failure.get() == null) {
+                String error = fuzz(new SplittableRandom(seed + g), moves);
+                if (error != null) {
+                    failure.compareAndSet(null, "game " + (seed + g) + ": " + error);
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (failure.get() != null) {
+            System.out.println("MISMATCH in " + failure.get());
+            System.exit(1);
+        }
+        System.out.printf("%d games, %d moves agree in %.2fs (%.0f games/s)%n", games, moves.get(), seconds,
+                games / seconds);
+    }
+
+    /**
+     * Play one random game on both implementations.
+     *
+     * @param random The random stream of the game.
+     * @param moves  Counts the moves played.
+     *
+     * @return A description of the first difference, or null if there was none.
+     */
+    private static String fuzz(SplittableRandom random, AtomicLong moves) {
+        int rounds = 1 + random.nextInt(28);
+        boolean isBotFirst = random.nextBoolean();
+        GameSession session = new GameSession(rounds, isBotFirst);
+        ReferenceGame reference = new ReferenceGame(rounds, isBotFirst);
+        String error = compare(session, reference, -1, null);
+
+        for (int n = 0; error == null && !reference.isOver(); n++) {
+            if (random.nextInt(8) == 0) {
+                // An occupied square must be refused by both.
+                int square = pick(random, reference, false);
+                boolean refused;
+                try {
+                    session.play(square / 8, square % 8);
+                    refused = false;
+                } catch (IllegalArgumentException e) {
+                    refused = true;
+                }
+                if (!refused || reference.play(square / 8, square % 8)) {
+                    return "move " + n + ": occupied square " + square + " was accepted";
+                }
+                continue;
+            }
+
+            int square = pick(random, reference, true);
+            String[][] before = copy(reference.board);
+            long changed = session.play(square / 8, square % 8);
+            reference.play(square / 8, square % 8);
+            moves.incrementAndGet();
+
+            long expected = 0;
+            for (int i = 0; i < 8; i++) {
+                for (int j = 0; j < 8; j++) {
+                    if (!before[i][j].equals(reference.board[i][j])) {
+                        expected |= BitBoard.bit(i, j);
+                    }
+                }
+            }
+            error = compare(session, reference, n, changed == expected ? null
+                    : "changed " + Long.toHexString(changed) + " expected " + Long.toHexString(expected));
+        }
+
+        if (error == null) {
+            try {
+                session.play(0, 0);
+                error = "a move after the end of the game was accepted";
+            } catch (IllegalStateException e) {
+                // Expected, the game is over.
+            }
+        }
+        return error;
+    }
+
+    private static String compare(GameSession session, ReferenceGame reference, int n, String error) {
+        String where = n < 0 ? "start: " : "move " + n + ": ";
+        if (error != null) {
+            return where + error;
+        }
+        String[][] board = session.snapshot();
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                if (!board[i][j].equals(reference.board[i][j]) || !session.get(i, j).equals(reference.board[i][j])) {
+                    return where + "square " + i + " " + j + " is '" + board[i][j] + "', expected '"
+                            + reference.board[i][j] + "'";
+                }
+            }
+        }
+        if (Rules.bits(board, "X") != session.getPlayerX() || Rules.bits(board, "O") != session.getPlayerO()) {
+            return where + "snapshot does not match the bitboards";
+        }
+        if (session.getPlayerXScore() != reference.playerXScore
+                || session.getPlayerOScore() != reference.playerOScore) {
+            return where + "scores " + session.getPlayerXScore() + "-" + session.getPlayerOScore() + ", expected "
+                    + reference.playerXScore + "-" + reference.playerOScore;
+        }
+        if (session.getRoundsLeft() != reference.roundsLeft || session.isOver() != reference.isOver()
+                || session.isPlayerXTurn() != reference.playerXTurn) {
+            return where + "rounds " + session.getRoundsLeft() + " turn " + session.isPlayerXTurn() + ", expected "
+                    + reference.roundsLeft + " " + reference.playerXTurn;
+        }
+        return null;
+    }
+
+    /**
+     * Pick a random empty or occupied square.
+     */
+    private static int pick(SplittableRandom random, ReferenceGame reference, boolean empty) {
+        int square;
+        do {
+            square = random.nextInt(64);
+        } while (reference.board[square / 8][square % 8].equals("") != empty);
+        return square;
+    }
+
+    private static String[][] copy(String[][] board) {
+        String[][] copy = new String[8][];
+        for (int i = 0; i < 8; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * The rules on a String grid, kept as simple as possible so it is obviously
+     * right: mark the square, then look at the squares above, below, left and
+     * right of it and turn over those that hold the other player's piece.
+     */
+    private static class ReferenceGame {
+        private final String[][] board = new String[8][8];
+        private final boolean isBotFirst;
+        private boolean playerXTurn;
+        private int roundsLeft;
+        private int playerXScore = 4;
+        private int playerOScore = 4;
+
+        private ReferenceGame(int rounds, boolean isBotFirst) {
+            for (int i = 0; i < 8; i++) {
+                for (int j = 0; j < 8; j++) {
+                    this.board[i][j] = "";
+                }
+            }
+            this.board[6][0] = "X";
+            this.board[7][0] = "X";
+            this.board[6][1] = "X";
+            this.board[7][1] = "X";
+            this.board[0][6] = "O";
+            this.board[0][7] = "O";
+            this.board[1][6] = "O";
+            this.board[1][7] = "O";
+            this.roundsLeft = rounds;
+            this.isBotFirst = isBotFirst;
+            this.playerXTurn = !isBotFirst;
+        }
+
+        private boolean isOver() {
+            return this.roundsLeft == 0;
+        }
+
+        private boolean play(int i, int j) {
+            if (this.isOver() || !this.board[i][j].equals("")) {
+                return false;
+            }
+            String player = this.playerXTurn ? "X" : "O";
+            String other = this.playerXTurn ? "O" : "X";
+            this.board[i][j] = player;
+            int turned = 0;
+            int[][] adjacent = { { i - 1, j }, { i + 1, j }, { i, j - 1 }, { i, j + 1 } };
+            for (int[] cell : adjacent) {
+                int x = cell[0];
+                int y = cell[1];
+                if (x >= 0 && x < 8 && y >= 0 && y < 8 && this.board[x][y].equals(other)) {
+                    this.board[x][y] = player;
+                    turned++;
+                }
+            }
+            if (this.playerXTurn) {
+                this.playerXScore += 1 + turned;
+                this.playerOScore -= turned;
+                if (this.isBotFirst) {
+                    this.roundsLeft--;
+                }
+            } else {
+                this.playerOScore += 1 + turned;
+                this.playerXScore -= turned;
+                if (!this.isBotFirst) {
+                    this.roundsLeft--;
+                }
+            }
+            this.playerXTurn = !this.playerXTurn;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.SplittableRandom;
+
+/**
+ * The SelectiveBenchmark class. It measures what the selective search of
+ * MinimaxBot (late move reductions, futility pruning and the frontier
+ * restriction, see {@link MinimaxBot#setSelective}) saves in positions searched
+ * and what it costs in strength, with {@link Tournament}s against the bot
+ * searching every move, most pieces turned over first.
+ *
+ * Usage: SelectiveBenchmark [games] [depth] [moveMs] [rounds] [seed]
+ *
+ * Every line of the report is one setting, played against that full search
+ * twice: at the same depth without a deadline, where the positions searched
+ * per move show what the setting prunes, and with moveMs per move for both
+ * bots and no depth limit, where the setting has to turn what it saves into
+ * depth. The bots would play the same few games over and over, so each plays
+ * its first OPENING_MOVES moves at random from its seed. Every game
+ * gets fresh bots with their own caches, so no game profits from the one
+ * before. The first line is that full search itself; the second, the full
+ * search by square as MinimaxBot searches by default, shows what the move
+ * order alone saves.
+ *
+ */
+public class SelectiveBenchmark {
+    private static final String[] NAMES = { "ordered", "by square", "lmr", "futility", "frontier", "all" };
+    /** Move ordering, late move reductions, futility pruning and frontier restriction, per setting. */
+    private static final boolean[][] SETTINGS = { { true, false, false, false }, { false, false, false, false },
+            { true, true, false, false }, { true, false, true, false }, { true, false, false, true },
+            { true, true, true, true } };
+    private static final boolean[] FULL = SETTINGS[0];
+    /** The moves each bot plays at random before it starts searching. */
+    private static final int OPENING_MOVES = 3;
+    /** The depth limit of the timed tournaments, deeper than any search gets. */
+    private static final int TIMED_DEPTH = 30;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long moveMs = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 28;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+        System.out.printf("%d games per line, %d rounds, depth %d, %dms per move when timed%n", games, rounds, depth,
+                moveMs);
+        System.out.printf("%-9s %12s %7s %7s %7s %7s %7s %6s%n", "setting", "nodes/move", "saved", "score",
+                "margin", "timed", "margin", "depth");
+        long base = 0;
+        for (int s = 0; s < SETTINGS.length; s++) {
+            long[] fixed = new long[3];
+            long[] timed = new long[3];
+            Tournament.Result atDepth = play(SETTINGS[s], depth, games, rounds, 0, seed, fixed);
+            Tournament.Result inTime = play(SETTINGS[s], TIMED_DEPTH, games, rounds, moveMs * 1_000_000L, seed,
+                    timed);
+            long nodes = fixed[0] / Math.max(1, fixed[1]);
+            if (s == 0) {
+                base = nodes;
+            }
+            System.out.printf("%-9s %12d %6.1f%% %7.3f %+7.2f %7.3f %+7.2f %6.2f%n", NAMES[s], nodes,
+                    100.0 * (base - nodes) / base, atDepth.score(), atDepth.meanMargin(), inTime.score(),
+                    inTime.meanMargin(), (double) timed[2] / Math.max(1, timed[1]));
+        }
+    }
+
+    /**
+     * Play a tournament of a setting against the full search.
+     *
+     * @param setting    The setting of bot A.
+     * @param depth      The depth limit of both bots.
+     * @param games      The number of games.
+     * @param rounds     The number of rounds per game.
+     * @param moveBudget The time per move in nanoseconds, 0 for no deadline.
+     * @param seed       The seed of the tournament.
+     * @param totals     Gets the positions bot A searched, its moves and the sum
+     *                   of the depths it reached.
+     *
+     * @return The results, seen from bot A.
+     */
+    private static Tournament.Result play(boolean[] setting, int depth, int games, int rounds, long moveBudget,
+            long seed, long[] totals) {
+        return Tournament.run(random -> create(setting, depth, random, totals),
+                random -> create(FULL, depth, random, null), games, rounds, moveBudget, seed);
+    }
+
+    /**
+     * Create a bot with its own cache that opens at random and adds up what its
+     * searches did.
+     */
+    private static Bot create(boolean[] setting, int depth, SplittableRandom random, long[] totals) {
+        MinimaxBot bot = new MinimaxBot(new EvalCache(1 << 16)) {
+            private int moves;
+
+            @Override
+            public int[] move(String[][] board, int roundsLeft, long deadline) {
+                if (this.moves++ < OPENING_MOVES) {
+                    int square = BitBoard.randomSquare(~(bits(board, "O") | bits(board, "X")), random);
+                    return new int[] { square / BitBoard.COL, square % BitBoard.COL };
+                }
+                long before = this.getNodes();
+                int[] move = super.move(board, roundsLeft, deadline);
+                if (totals != null) {
+                    totals[0] += this.getNodes() - before;
+                    totals[1]++;
+                    totals[2] += this.lastDepth();
+                }
+                return move;
+            }
+        };
+        bot.setDepth(depth);
+        bot.setMoveOrdering(setting[0]);
+        bot.setSelective(setting[1], setting[2], setting[3]);
+        return bot;
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * The Spectator class. It plays a match of games between two bots on a worker
+ * thread, as fast as the bots move, so the games can be watched without the
+ * watcher slowing them down.
+ *
+ * After every move the worker publishes an immutable {@link Frame} of the
+ * position. A watcher samples the latest frame whenever it likes, e.g. once per
+ * screen refresh, and never waits for the engine or makes it wait: positions
+ * played between two samples are skipped, and a slow bot only means the same
+ * frame is seen again.
+ *
+ * Usage: Spectator &lt;botX&gt; &lt;botO&gt; [games] [rounds] [fps]
+ *
+ * The main method watches a match from the console, printing the latest frame
+ * fps times a second.
+ *
+ */
+public class Spectator implements AutoCloseable {
+    private final Bot botX;
+    private final Bot botO;
+    private final int rounds;
+    private final boolean isBotFirst;
+    private final int games;
+    private final Thread worker;
+    private volatile Frame latest;
+    private volatile boolean closed;
+
+    /**
+     * The state of the match after a move.
+     */
+    public static final class Frame {
+        public final long playerX;
+        public final long playerO;
+        public final int roundsLeft;
+        public final boolean playerXTurn;
+        /** The game being played, counted from 1. */
+        public final int game;
+        /** The moves played in the whole match. */
+        public final long moves;
+        public final int xWins;
+        public final int oWins;
+        public final int ties;
+        /** True once the last game is over or the match stopped. */
+        public final boolean finished;
+        /** Why the match stopped early, or null. */
+        public final String error;
+
+        private Frame(long playerX, long playerO, int roundsLeft, boolean playerXTurn, int game, long moves,
+                int xWins, int oWins, int ties, boolean finished, String error) {
+            this.playerX = playerX;
+            this.playerO = playerO;
+            this.roundsLeft = roundsLeft;
+            this.playerXTurn = playerXTurn;
+            this.game = game;
+            this.moves = moves;
+            this.xWins = xWins;
+            this.oWins = oWins;
+            this.ties = ties;
+            this.finished = finished;
+            this.error = error;
+        }
+
+        /**
+         * Get the winner of the match so far, by games won.
+         *
+         * @return "X", "O" or "" for a tie.
+         */
+        public String getWinner() {
+            return this.xWins > this.oWins ? "X" : this.oWins > this.xWins ? "O" : "";
+        }
+    }
+
+    /**
+     * Create a match. Nothing is played until {@link #start()}.
+     *
+     * @param botX       The bot playing X. It is shown the board with the pieces
+     *                   swapped, since bots always play O.
+     * @param botO       The bot playing O.
+     * @param rounds     The number of rounds per game.
+     * @param isBotFirst True if O moves first in every game, false otherwise.
+     * @param games      The number of games.
+     */
+    public Spectator(Bot botX, Bot botO, int rounds, boolean isBotFirst, int games) {
+        this.botX = botX;
+        this.botO = botO;
+        this.rounds = rounds;
+        this.isBotFirst = isBotFirst;
+        this.games = games;
+        this.worker = new Thread(this::play, "spectator");
+        this.worker.setDaemon(true);
+        this.latest = new Frame(Rules.START_X, Rules.START_O, rounds, !isBotFirst, 1, 0, 0, 0, 0, false, null);
+    }
+
+    /**
+     * Start playing on the worker thread.
+     */
+    public void start() {
+        this.worker.start();
+    }
+
+    /**
+     * Get the position after the last move played. Never blocks.
+     *
+     * @return The latest frame.
+     */
+    public Frame latest() {
+        return this.latest;
+    }
+
+    /**
+     * Stop the match after the move being computed. The last frame is marked
+     * finished.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Wait for the match to finish.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void join() throws InterruptedException {
+        this.worker.join();
+    }
+
+    private void play() {
+        long moves = 0;
+        int xWins = 0;
+        int oWins = 0;
+        int ties = 0;
+        GameSession session = null;
+        String error = null;
+        try {
+            for (int g = 1; g <= this.games && !this.closed; g++) {
+                session = new GameSession(this.rounds, this.isBotFirst);
+                while (!session.isOver() && !this.closed) {
+                    String player = session.isPlayerXTurn() ? "X" : "O";
+                    Bot bot = player.equals("X") ? this.botX : this.botO;
+                    int[] move = bot.move(session.snapshotFor(player), session.getRoundsLeft());
+                    session.play(move[0], move[1]);
+                    moves++;
+                    this.latest = new Frame(session.getPlayerX(), session.getPlayerO(), session.getRoundsLeft(),
+                            session.isPlayerXTurn(), g, moves, xWins, oWins, ties, false, null);
+                }
+                if (session.isOver()) {
+                    String winner = session.getWinner();
+                    if (winner.equals("X")) {
+                        xWins++;
+                    } else if (winner.equals("O")) {
+                        oWins++;
+                    } else {
+                        ties++;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // A bot failed or made an illegal move.
+            error = e.toString();
+        }
+        Frame last = this.latest;
+        this.latest = new Frame(last.playerX, last.playerO, last.roundsLeft, last.playerXTurn, last.game, moves,
+                xWins, oWins, ties, true, error);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: Spectator <botX> <botO> [games] [rounds] [fps]");
+            System.exit(2);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 28;
+        int fps = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+
+        Spectator spectator = new Spectator(Bot.create(args[0]), Bot.create(args[1]), rounds, false, games);
+        long start = System.nanoTime();
+        spectator.start();
+        int frames = 0;
+        Frame frame;
+        do {
+            Thread.sleep(1000 / fps);
+            frame = spectator.latest();
+            frames++;
+            System.out.printf("game %d/%d  X %2d - %2d O  rounds left %2d  moves %d  X:O:tie %d:%d:%d%n", frame.game,
+                    games, Long.bitCount(frame.playerX), Long.bitCount(frame.playerO), frame.roundsLeft,
+                    frame.moves, frame.xWins, frame.oWins, frame.ties);
+        } while (!frame.finished);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d moves in %.1fs (%.0f moves/s), %d frames shown%n", frame.moves, seconds,
+                frame.moves / seconds, frames);
+        if (frame.error != null) {
+            System.out.println("Stopped: " + frame.error);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * The Symmetry class. It maps a position to the smallest of its 8 symmetric
+ * copies (rotations and reflections of the square board), so tables and caches
+ * only need to store one entry per symmetry class.
+ *
+ * The capture rule only looks at orthogonal neighbours, which every rotation and
+ * reflection of the board preserves, so all 8 copies have the same value.
+ *
+ * Positions are given as (own, opp): the squares of the player to move and the
+ * squares of the other player. This also folds the colour swap in. The starting
+ * layout with X to move is the transpose (the top-left to bottom-right diagonal
+ * reflection) of the starting layout with O to move, so both share one entry.
+ *
+ * A symmetry is a number from 0 to 7. Bit 2 means transpose, bit 1 means flip
+ * vertically and bit 0 means mirror horizontally, applied in that order.
+ *
+ */
+public final class Symmetry {
+    public static final int COUNT = 8;
+    public static final int IDENTITY = 0;
+
+    private static final int MIRROR = 1;
+    private static final int FLIP = 2;
+    private static final int TRANSPOSE = 4;
+
+    private Symmetry() {
+    }
+
+    /**
+     * Apply a symmetry to a board.
+     *
+     * @param bits The board to transform.
+     * @param sym  The symmetry, 0 to 7.
+     *
+     * @return The transformed board.
+     */
+    public static long transform(long bits, int sym) {
+        if ((sym & TRANSPOSE) != 0) {
+            bits = BitBoard.transpose(bits);
+        }
+        if ((sym & FLIP) != 0) {
+            bits = BitBoard.flipVertical(bits);
+        }
+        if ((sym & MIRROR) != 0) {
+            bits = BitBoard.mirrorHorizontal(bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Apply a symmetry to a single square.
+     *
+     * @param square The bit index of the square.
+     * @param sym    The symmetry, 0 to 7.
+     *
+     * @return The bit index of the square after the symmetry.
+     */
+    public static int transformSquare(int square, int sym) {
+        int row = square >>> 3;
+        int col = square & 7;
+        if ((sym & TRANSPOSE) != 0) {
+            int t = row;
+            row = col;
+            col = t;
+        }
+        if ((sym & FLIP) != 0) {
+            row = 7 - row;
+        }
+        if ((sym & MIRROR) != 0) {
+            col = 7 - col;
+        }
+        return BitBoard.square(row, col);
+    }
+
+    /**
+     * Undo a symmetry on a single square. Use this to turn a move found on the
+     * canonical position back into a move on the real board.
+     *
+     * @param square The bit index of the square on the transformed board.
+     * @param sym    The symmetry that was applied, 0 to 7.
+     *
+     * @return The bit index of the square on the original board.
+     */
+    public static int inverseSquare(int square, int sym) {
+        int row = square >>> 3;
+        int col = square & 7;
+        if ((sym & MIRROR) != 0) {
+            col = 7 - col;
+        }
+        if ((sym & FLIP) != 0) {
+            row = 7 - row;
+        }
+        if ((sym & TRANSPOSE) != 0) {
+            int t = row;
+            row = col;
+            col = t;
+        }
+        return BitBoard.square(row, col);
+    }
+
+    /**
+     * Find the symmetry that gives the smallest representative of a position.
+     * Boards are compared as unsigned numbers, own first and then opp.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The symmetry to apply to get the canonical position.
+     */
+    public static int canonicalSymmetry(long own, long opp) {
+        int best = IDENTITY;
+        long bestOwn = own;
+        long bestOpp = opp;
+        for (int sym = 1; sym < COUNT; sym++) {
+            long o = transform(own, sym);
+            int cmp = Long.compareUnsigned(o, bestOwn);
+            if (cmp > 0) {
+                continue;
+            }
+            long p = transform(opp, sym);
+            if (cmp < 0 || Long.compareUnsigned(p, bestOpp) < 0) {
+                best = sym;
+                bestOwn = o;
+                bestOpp = p;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the canonical squares of the player to move.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The own board of the canonical position.
+     */
+    public static long canonicalOwn(long own, long opp) {
+        return transform(own, canonicalSymmetry(own, opp));
+    }
+
+    /**
+     * Get the canonical squares of the other player.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The opp board of the canonical position.
+     */
+    public static long canonicalOpp(long own, long opp) {
+        return transform(opp, canonicalSymmetry(own, opp));
+    }
+}
@@ -0,0 +1,321 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Tablebase class. It is a table of solved endgames: for positions with a
+ * few empty squares left, the result of perfect play by both sides and a move
+ * that gets it. The table is built offline by TablebaseGenerator.
+ *
+ * Only pieces next to an empty square can still be turned over, so the gain of
+ * the player to move (the final piece difference minus the current one) only
+ * depends on the empty squares and the pieces next to them. Entries are keyed
+ * by that part of the board, reduced by {@link Symmetry}, so one entry serves
+ * every position with the same empty squares and the same pieces around them.
+ * Entries assume the game goes on until the board is full, as the last rounds
+ * of a 28-round game do.
+ *
+ * The file is little-endian:
+ * <pre>
+ * int magic "TBAS", int version, int maxEmpties, int entries, int bits,
+ * int[2^bits + 1] index,
+ * for every entry, sorted by key: long key, byte gain, byte move
+ * </pre>
+ * Keys are hashes, so they are spread evenly and the top bits of a key tell
+ * where it is in the sorted entries: index[b] is the first entry whose top bits
+ * are at least b. There are about BLOCK entries per index slot. {@link
+ * #load(Path)} memory-maps the file and copies the index to the heap, so a
+ * probe reads one index slot and binary searches a block of the mapped file.
+ *
+ */
+public final class Tablebase {
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+    /** A table without entries, for bots that should search every position. */
+    public static final Tablebase NONE = new Tablebase(0, new int[] { 0, 0 }, ByteBuffer.allocate(0), 0);
+
+    static final int MAGIC = 0x53414254;
+    static final int VERSION = 1;
+    static final int HEADER = 20;
+    static final int ENTRY = Long.BYTES + 2;
+    static final int BLOCK = 64;
+
+    private final int maxEmpties;
+    private final int[] index;
+    private final int bits;
+    private final ByteBuffer entries;
+    private final int start;
+
+    private Tablebase(int maxEmpties, int[] index, ByteBuffer entries, int start) {
+        this.maxEmpties = maxEmpties;
+        this.index = index;
+        this.bits = Integer.numberOfTrailingZeros(index.length - 1);
+        this.entries = entries;
+        this.start = start;
+    }
+
+    /**
+     * Get the table of the bots: the one in the file named by the bot.tablebase
+     * system property (default tablebase.bin), or an empty table if there is no
+     * such file. The file is mapped once and shared.
+     *
+     * @return The table.
+     *
+     * @throws UncheckedIOException If the file exists but cannot be read.
+     */
+    public static Tablebase standard() {
+        return Standard.TABLEBASE;
+    }
+
+    /**
+     * Map a table file into memory.
+     *
+     * @param file The file written by TablebaseGenerator.
+     *
+     * @return The table.
+     *
+     * @throws IOException If the file cannot be read or is not a table file.
+     */
+    public static Tablebase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is larger than 2GB.");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a tablebase file.");
+            }
+            int size = buffer.getInt(12);
+            int bits = buffer.getInt(16);
+            if (size < 0 || bits < 0 || bits > 30) {
+                throw new IOException(file + " has a bad header.");
+            }
+            int[] index = new int[(1 << bits) + 1];
+            buffer.position(HEADER).asIntBuffer().get(index);
+            int start = HEADER + Integer.BYTES * index.length;
+            if (start + (long) size * ENTRY != buffer.capacity() || index[index.length - 1] != size) {
+                throw new IOException(file + " is truncated.");
+            }
+            return new Tablebase(buffer.getInt(8), index, buffer, start);
+        }
+    }
+
+    /**
+     * Look a position up.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return NOT_FOUND, or the entry: see {@link #gain(int)} and
+     *         {@link #square(int)}.
+     */
+    public int probe(long own, long opp) {
+        long empty = ~(own | opp);
+        int empties = Long.bitCount(empty);
+        if (empties == 0 || empties > this.maxEmpties) {
+            return NOT_FOUND;
+        }
+        long near = BitBoard.neighbours(empty);
+        own &= near;
+        opp &= near;
+        int sym = symmetry(empty, own, opp);
+        int entry = this.find(key(Symmetry.transform(empty, sym), Symmetry.transform(own, sym),
+                Symmetry.transform(opp, sym)));
+        if (entry < 0) {
+            return NOT_FOUND;
+        }
+        int at = this.start + entry * ENTRY + Long.BYTES;
+        return this.entries.get(at) << 8 | Symmetry.inverseSquare(this.entries.get(at + 1), sym);
+    }
+
+    /**
+     * Find the move of a bot in a solved position.
+     *
+     * @param own        The squares of the bot.
+     * @param opp        The squares of the other player.
+     * @param roundsLeft The number of rounds left in the game.
+     *
+     * @return The move as {row, col}, or null when the position is not in the
+     *         table or the game may end before the board is full.
+     */
+    public int[] move(long own, long opp, int roundsLeft) {
+        // At least 2 * roundsLeft - 1 moves are left, the bot may end the round.
+        if (2 * roundsLeft - 1 < Long.bitCount(~(own | opp))) {
+            return null;
+        }
+        int entry = this.probe(own, opp);
+        if (entry == NOT_FOUND) {
+            return null;
+        }
+        return new int[] { square(entry) / BitBoard.COL, square(entry) % BitBoard.COL };
+    }
+
+    /**
+     * Get the gain of an entry: the final piece difference of the player to
+     * move under perfect play, minus the current one.
+     *
+     * @param entry An entry returned by {@link #probe(long, long)}.
+     *
+     * @return The gain, from -64 to 64.
+     */
+    public static int gain(int entry) {
+        return entry >> 8;
+    }
+
+    /**
+     * Get the move of an entry.
+     *
+     * @param entry An entry returned by {@link #probe(long, long)}.
+     *
+     * @return The bit index of a move that gets the gain.
+     */
+    public static int square(int entry) {
+        return entry & 0xFF;
+    }
+
+    /**
+     * Binary search the block of entries the index gives for the top bits of a
+     * key.
+     *
+     * @return The entry of the key, or -1.
+     */
+    private int find(long key) {
+        int slot = slot(key, this.bits);
+        int lo = this.index[slot];
+        int hi = this.index[slot + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long k = this.entries.getLong(this.start + mid * ENTRY);
+            if (k < key) {
+                lo = mid + 1;
+            } else if (k > key) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the index slot of a key.
+     *
+     * @param key  The key.
+     * @param bits The number of index bits, so there are 2^bits slots.
+     *
+     * @return The slot, in the order of the sorted keys.
+     */
+    static int slot(long key, int bits) {
+        return bits == 0 ? 0 : (int) ((key ^ Long.MIN_VALUE) >>> (Long.SIZE - bits));
+    }
+
+    public int maxEmpties() {
+        return this.maxEmpties;
+    }
+
+    public int size() {
+        return this.index[this.index.length - 1];
+    }
+
+    /**
+     * Get the key of a position reduced to the squares near the empty ones.
+     *
+     * @param empty The empty squares.
+     * @param own   The squares of the player to move next to an empty square.
+     * @param opp   The squares of the other player next to an empty square.
+     *
+     * @return The 64-bit key.
+     */
+    static long key(long empty, long own, long opp) {
+        return Zobrist.mix(Zobrist.hash(own, opp), empty);
+    }
+
+    /**
+     * Find the symmetry that gives the smallest copy of a reduced position,
+     * comparing the empty squares first, then own, then opp. Usually one
+     * symmetry has the smallest empty squares, so own and opp are only
+     * transformed once. Mirroring and flipping commute, so the copies of the
+     * empty squares share one transpose.
+     *
+     * @param empty The empty squares.
+     * @param own   The squares of the player to move.
+     * @param opp   The squares of the other player.
+     *
+     * @return The symmetry, 0 to 7.
+     */
+    static int symmetry(long empty, long own, long opp) {
+        int best = Symmetry.IDENTITY;
+        long bestEmpty = empty;
+        long bestOwn = own;
+        long bestOpp = opp;
+        boolean tie = false;
+        long transposed = BitBoard.transpose(empty);
+        for (int sym = 1; sym < Symmetry.COUNT; sym++) {
+            long e = sym >= 4 ? transposed : empty;
+            if ((sym & 1) != 0) {
+                e = BitBoard.mirrorHorizontal(e);
+            }
+            if ((sym & 2) != 0) {
+                e = BitBoard.flipVertical(e);
+            }
+            int cmp = Long.compareUnsigned(e, bestEmpty);
+            if (cmp < 0) {
+                best = sym;
+                bestEmpty = e;
+                tie = false;
+            } else if (cmp == 0) {
+                tie = true;
+            }
+        }
+        if (!tie) {
+            return best;
+        }
+        bestOwn = Symmetry.transform(own, best);
+        bestOpp = Symmetry.transform(opp, best);
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            if (sym == best || Symmetry.transform(empty, sym) != bestEmpty) {
+                continue;
+            }
+            long o = Symmetry.transform(own, sym);
+            int cmp = Long.compareUnsigned(o, bestOwn);
+            if (cmp > 0) {
+                continue;
+            }
+            long p = Symmetry.transform(opp, sym);
+            if (cmp < 0 || Long.compareUnsigned(p, bestOpp) < 0) {
+                best = sym;
+                bestOwn = o;
+                bestOpp = p;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Holds the standard table, loaded on first use.
+     */
+    private static final class Standard {
+        private static final Tablebase TABLEBASE = load(Paths.get(System.getProperty("bot.tablebase",
+                "tablebase.bin")));
+
+        private Standard() {
+        }
+
+        private static Tablebase load(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return NONE;
+            }
+            try {
+                return Tablebase.load(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
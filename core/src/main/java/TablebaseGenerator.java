@@ -0,0 +1,337 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The TablebaseGenerator class. It solves endgames offline and writes the file
+ * {@link Tablebase} maps at startup.
+ *
+ * Usage: TablebaseGenerator [maxEmpties] [games] [file] [seed]
+ *
+ * Every empty square is a legal move, so no table can hold every position with
+ * a few empty squares. The generator plays random 28-round games and takes the
+ * position of every game at maxEmpties empty squares as a root. Every position
+ * reachable from a root is collected, one layer per number of empty squares,
+ * each reduced to the squares near the empty ones as Tablebase keys it. The
+ * layers are then solved backwards from one empty square up: the value of a
+ * position is the best over its moves of the move's own gain minus the value of
+ * the position after it, which is in the layer solved before.
+ *
+ * At the end the table is loaded back and checked against a full search of
+ * fresh random positions, and the report shows how long a probe takes.
+ *
+ */
+public class TablebaseGenerator {
+    private static final int CHECKS = 200;
+
+    // Every collected position, layer by layer from maxEmpties down, and its
+    // solution: the gain of the player to move and the move that gets it.
+    private long[] empties = new long[1 << 16];
+    private long[] owns = new long[1 << 16];
+    private long[] opps = new long[1 << 16];
+    private byte[] gains = new byte[1 << 16];
+    private byte[] moves = new byte[1 << 16];
+    private int size;
+
+    // Open addressing from key to position, for finding duplicates and the
+    // values of the positions after a move.
+    private long[] keys = new long[1 << 17];
+    private int[] slots = new int[1 << 17];
+
+    public static void main(String[] args) throws IOException {
+        int maxEmpties = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        Path file = Paths.get(args.length > 2 ? args[2] : "tablebase.bin");
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        long start = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator();
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] layers = new int[maxEmpties + 2];
+        for (int g = 0; g < games; g++) {
+            long[] root = randomPosition(random, maxEmpties);
+            generator.add(~(root[0] | root[1]), root[0], root[1]);
+        }
+        layers[maxEmpties] = generator.size;
+        for (int e = maxEmpties; e > 1; e--) {
+            for (int p = layers[e + 1]; p < layers[e]; p++) {
+                generator.expand(p);
+            }
+            layers[e - 1] = generator.size;
+            System.out.printf("%d empty: %d positions%n", e, layers[e] - layers[e + 1]);
+        }
+        System.out.printf("1 empty: %d positions%n", layers[1] - layers[2]);
+        System.out.printf("collected %d positions in %.1fs%n", generator.size, (System.nanoTime() - start) / 1e9);
+
+        // Solve from the last layer, which holds one empty square, backwards.
+        long solve = System.nanoTime();
+        for (int p = generator.size - 1; p >= 0; p--) {
+            generator.solve(p);
+        }
+        System.out.printf("solved in %.1fs%n", (System.nanoTime() - solve) / 1e9);
+
+        generator.write(file, maxEmpties);
+        System.out.println("Wrote " + file);
+
+        check(Tablebase.load(file), random);
+    }
+
+    /**
+     * Play random moves from the start, with a random side moving first, until a
+     * number of empty squares is left.
+     *
+     * @param random     The random stream.
+     * @param maxEmpties The number of empty squares to stop at.
+     *
+     * @return The position as {own, opp}, own to move.
+     */
+    static long[] randomPosition(SplittableRandom random, int maxEmpties) {
+        long mover = Rules.START_X;
+        long other = Rules.START_O;
+        if (random.nextBoolean()) {
+            mover = Rules.START_O;
+            other = Rules.START_X;
+        }
+        while (Long.bitCount(~(mover | other)) > maxEmpties) {
+            int square = BitBoard.randomSquare(~(mover | other), random);
+            long flipped = Rules.flips(square, other);
+            long own = mover | (1L << square) | flipped;
+            mover = other & ~flipped;
+            other = own;
+        }
+        return new long[] { mover, other };
+    }
+
+    /**
+     * Collect a position, reduced to the squares near the empty ones and to its
+     * canonical symmetry, unless it is already collected.
+     *
+     * @param empty The empty squares.
+     * @param own   The squares of the player to move, at least those near an
+     *              empty square.
+     * @param opp   The squares of the other player, the same.
+     *
+     * @return The index of the position.
+     */
+    private int add(long empty, long own, long opp) {
+        long near = BitBoard.neighbours(empty);
+        own &= near;
+        opp &= near;
+        int sym = Tablebase.symmetry(empty, own, opp);
+        empty = Symmetry.transform(empty, sym);
+        own = Symmetry.transform(own, sym);
+        opp = Symmetry.transform(opp, sym);
+        long key = Tablebase.key(empty, own, opp);
+
+        int mask = this.keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        for (; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.slots[slot] - 1;
+            }
+        }
+        if (this.size == this.empties.length) {
+            int length = 2 * this.size;
+            this.empties = Arrays.copyOf(this.empties, length);
+            this.owns = Arrays.copyOf(this.owns, length);
+            this.opps = Arrays.copyOf(this.opps, length);
+            this.gains = Arrays.copyOf(this.gains, length);
+            this.moves = Arrays.copyOf(this.moves, length);
+        }
+        this.empties[this.size] = empty;
+        this.owns[this.size] = own;
+        this.opps[this.size] = opp;
+        this.keys[slot] = key;
+        this.slots[slot] = ++this.size;
+        if (2 * this.size > this.keys.length) {
+            this.rehash();
+        }
+        return this.size - 1;
+    }
+
+    /**
+     * Double the key table.
+     */
+    private void rehash() {
+        long[] oldKeys = this.keys;
+        int[] oldSlots = this.slots;
+        this.keys = new long[2 * oldKeys.length];
+        this.slots = new int[2 * oldSlots.length];
+        int mask = this.keys.length - 1;
+        for (int s = 0; s < oldKeys.length; s++) {
+            if (oldSlots[s] == 0) {
+                continue;
+            }
+            long key = oldKeys[s];
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = key;
+            this.slots[slot] = oldSlots[s];
+        }
+    }
+
+    /**
+     * Collect every position one move after a collected position.
+     *
+     * @param p The index of the position.
+     */
+    private void expand(int p) {
+        long own = this.owns[p];
+        long opp = this.opps[p];
+        long empty = this.empties[p];
+        for (long e = empty; e != 0; e &= e - 1) {
+            int square = Long.numberOfTrailingZeros(e);
+            long flipped = Rules.flips(square, opp);
+            this.add(empty & ~(1L << square), opp & ~flipped, own | (1L << square) | flipped);
+        }
+    }
+
+    /**
+     * Solve a position whose successors are all solved.
+     *
+     * @param p The index of the position.
+     */
+    private void solve(int p) {
+        long own = this.owns[p];
+        long opp = this.opps[p];
+        long empty = this.empties[p];
+        int best = Integer.MIN_VALUE;
+        int bestSquare = 0;
+        for (long e = empty; e != 0; e &= e - 1) {
+            int square = Long.numberOfTrailingZeros(e);
+            long flipped = Rules.flips(square, opp);
+            int gain = 1 + 2 * Long.bitCount(flipped);
+            if ((empty & (empty - 1)) != 0) {
+                gain -= this.gains[this.find(empty & ~(1L << square), opp & ~flipped,
+                        own | (1L << square) | flipped)];
+            }
+            if (gain > best) {
+                best = gain;
+                bestSquare = square;
+            }
+        }
+        this.gains[p] = (byte) best;
+        this.moves[p] = (byte) bestSquare;
+    }
+
+    /**
+     * Find a collected position.
+     *
+     * @param empty The empty squares.
+     * @param own   The squares of the player to move.
+     * @param opp   The squares of the other player.
+     *
+     * @return The index of the position.
+     */
+    private int find(long empty, long own, long opp) {
+        int before = this.size;
+        int p = this.add(empty, own, opp);
+        if (this.size != before) {
+            throw new IllegalStateException("A position after a move was not collected.");
+        }
+        return p;
+    }
+
+    /**
+     * Write the solved positions in the format {@link Tablebase#load(Path)}
+     * reads, sorted by key.
+     */
+    private void write(Path file, int maxEmpties) throws IOException {
+        long[] sorted = new long[this.size];
+        int n = 0;
+        for (int s = 0; s < this.keys.length; s++) {
+            if (this.slots[s] != 0) {
+                sorted[n++] = this.keys[s];
+            }
+        }
+        Arrays.sort(sorted);
+        int bits = 0;
+        while (bits < 30 && this.size >> (bits + 1) >= Tablebase.BLOCK) {
+            bits++;
+        }
+        int[] index = new int[(1 << bits) + 1];
+        for (int e = 0, slot = 0; slot < index.length; slot++) {
+            while (e < this.size && Tablebase.slot(sorted[e], bits) < slot) {
+                e++;
+            }
+            index[slot] = e;
+        }
+        index[1 << bits] = this.size;
+
+        int mask = this.keys.length - 1;
+        ByteBuffer buffer = ByteBuffer.allocate(Tablebase.HEADER + Integer.BYTES * index.length
+                + this.size * Tablebase.ENTRY).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(Tablebase.MAGIC).putInt(Tablebase.VERSION).putInt(maxEmpties).putInt(this.size).putInt(bits);
+        for (int first : index) {
+            buffer.putInt(first);
+        }
+        for (long key : sorted) {
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (this.keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            int p = this.slots[slot] - 1;
+            buffer.putLong(key).put(this.gains[p]).put(this.moves[p]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Probe the positions of fresh random games at every number of empty
+     * squares, compare the entries found with a full search of the real board,
+     * and time the probes.
+     */
+    private static void check(Tablebase table, SplittableRandom random) {
+        int checked = 0;
+        for (int c = 0; c < CHECKS; c++) {
+            long[] position = randomPosition(random, 1 + random.nextInt(Math.min(table.maxEmpties(), 8)));
+            int entry = table.probe(position[0], position[1]);
+            if (entry == Tablebase.NOT_FOUND) {
+                continue;
+            }
+            int solved = EndgameBot.solve(position[0], position[1], -BitBoard.SQUARES - 1, BitBoard.SQUARES + 1);
+            long flipped = Rules.flips(Tablebase.square(entry), position[1]);
+            long own = position[0] | (1L << Tablebase.square(entry)) | flipped;
+            int played = 1 + 2 * Long.bitCount(flipped)
+                    - EndgameBot.solve(position[1] & ~flipped, own, -BitBoard.SQUARES - 1, BitBoard.SQUARES + 1);
+            if (Tablebase.gain(entry) != solved || played != solved) {
+                throw new IllegalStateException("Wrong entry, gain " + Tablebase.gain(entry) + " move gain "
+                        + played + " searched " + solved + ":\n" + BitBoard.toString(position[0], position[1]));
+            }
+            checked++;
+        }
+        System.out.printf("%d of %d random endgames found and checked against a full search%n", checked, CHECKS);
+
+        long[][] positions = new long[1 << 12][];
+        for (int k = 0; k < positions.length; k++) {
+            positions[k] = randomPosition(random, 1 + random.nextInt(table.maxEmpties()));
+        }
+        int found = 0;
+        long probes = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < 200; round++) {
+            for (long[] position : positions) {
+                if (table.probe(position[0], position[1]) != Tablebase.NOT_FOUND) {
+                    found++;
+                }
+                probes++;
+            }
+        }
+        System.out.printf("%d entries, %.0fns per probe, %.1f%% of random endgames found%n", table.size(),
+                (double) (System.nanoTime() - start) / probes, 100.0 * found / probes);
+    }
+}
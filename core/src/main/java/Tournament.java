@@ -0,0 +1,141 @@
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * The Tournament class. It plays headless games between two bots and collects
+ * the results, so bots and bot settings can be compared without the UI.
+ *
+ * The bots swap sides and the starting player every game, so over every 4 games
+ * each bot plays X and O, first and second. Each game gets fresh bots seeded from
+ * the tournament seed, so a tournament can be repeated exactly (when no move time
+ * budget is set).
+ *
+ * Usage: Tournament &lt;botA&gt; &lt;botB&gt; [games] [rounds] [moveMs] [seed]
+ *
+ */
+public class Tournament {
+    /**
+     * The results of a tournament, seen from bot A.
+     */
+    public static class Result {
+        public int games;
+        public int wins;
+        public int losses;
+        public int draws;
+        public long margin;
+        public final LatencyHistogram timesA = new LatencyHistogram();
+        public final LatencyHistogram timesB = new LatencyHistogram();
+
+        /**
+         * Count one game.
+         *
+         * @param scoreA The final score of bot A.
+         * @param scoreB The final score of bot B.
+         */
+        public void add(int scoreA, int scoreB) {
+            this.games++;
+            this.margin += scoreA - scoreB;
+            if (scoreA > scoreB) {
+                this.wins++;
+            } else if (scoreA < scoreB) {
+                this.losses++;
+            } else {
+                this.draws++;
+            }
+        }
+
+        public double meanMargin() {
+            return this.games == 0 ? 0 : (double) this.margin / this.games;
+        }
+
+        public double score() {
+            return this.games == 0 ? 0 : (this.wins + 0.5 * this.draws) / this.games;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("games=%d wins=%d losses=%d draws=%d score=%.3f margin=%+.2f%n  A moves: %s%n"
+                    + "  B moves: %s", this.games, this.wins, this.losses, this.draws, this.score(),
+                    this.meanMargin(), this.timesA, this.timesB);
+        }
+    }
+
+    /**
+     * Play a tournament.
+     *
+     * @param a          Creates bot A from a random stream.
+     * @param b          Creates bot B from a random stream.
+     * @param games      The number of games.
+     * @param rounds     The number of rounds per game.
+     * @param moveBudget The time per move in nanoseconds, 0 for no deadline.
+     * @param seed       The seed of the bots' random streams.
+     *
+     * @return The results, seen from bot A.
+     */
+    public static Result run(Function<SplittableRandom, Bot> a, Function<SplittableRandom, Bot> b, int games,
+            int rounds, long moveBudget, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Result result = new Result();
+        for (int g = 0; g < games; g++) {
+            Bot botA = a.apply(random.split());
+            Bot botB = b.apply(random.split());
+            int[] scores = play(botA, botB, (g & 1) == 0, (g & 2) != 0, rounds, moveBudget, result, null);
+            result.add(scores[0], scores[1]);
+        }
+        return result;
+    }
+
+    /**
+     * Play one game.
+     *
+     * @param botA       Bot A.
+     * @param botB       Bot B.
+     * @param aIsO       True if bot A plays O.
+     * @param oFirst     True if O moves first.
+     * @param rounds     The number of rounds.
+     * @param moveBudget The time per move in nanoseconds, 0 for no deadline.
+     * @param times      Collects the move times of the bots.
+     * @param moves      Collects the moves as bit indexes, or null.
+     *
+     * @return The scores of bot A and bot B.
+     */
+    static int[] play(Bot botA, Bot botB, boolean aIsO, boolean oFirst, int rounds, long moveBudget, Result times,
+            List<Integer> moves) {
+        GameSession session = new GameSession(rounds, oFirst);
+        while (!session.isOver()) {
+            String player = session.isPlayerXTurn() ? "X" : "O";
+            boolean aToMove = player.equals("O") == aIsO;
+            Bot bot = aToMove ? botA : botB;
+            String[][] board = session.snapshotFor(player);
+
+            long t0 = System.nanoTime();
+            int[] move = moveBudget > 0
+                    ? bot.move(board, session.getRoundsLeft(), t0 + moveBudget)
+                    : bot.move(board, session.getRoundsLeft());
+            (aToMove ? times.timesA : times.timesB).record(System.nanoTime() - t0);
+            session.play(move[0], move[1]);
+            if (moves != null) {
+                moves.add(BitBoard.square(move[0], move[1]));
+            }
+        }
+        int scoreA = aIsO ? session.getPlayerOScore() : session.getPlayerXScore();
+        int scoreB = aIsO ? session.getPlayerXScore() : session.getPlayerOScore();
+        return new int[] { scoreA, scoreB };
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: Tournament <botA> <botB> [games] [rounds] [moveMs] [seed]");
+            System.exit(2);
+        }
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 28;
+        long moveBudget = args.length > 4 ? Long.parseLong(args[4]) * 1_000_000L : 0;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 1;
+        Result result = run(r -> Bot.create(args[0], r), r -> Bot.create(args[1], r), games, rounds, moveBudget,
+                seed);
+        System.out.println(args[0] + " vs " + args[1] + ": " + result);
+        System.out.println(MemoryBudget.global());
+    }
+}
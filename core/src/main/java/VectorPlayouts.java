@@ -0,0 +1,122 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorPlayouts class. It plays the random games of {@link Playouts} with
+ * the Vector API, as many lanes per instruction as the widest vector of the CPU
+ * holds (8 with AVX-512, 4 with AVX2). Moves, captures and the final piece
+ * count are all lanewise shifts, masks and adds; the count is a SWAR popcount,
+ * since the Vector API of Java 17 has no lanewise one. Lanes left over after the
+ * last full vector are played by {@link Playouts#SCALAR}, which plays the same
+ * games.
+ *
+ * Only load this class when the jdk.incubator.vector module is present, see
+ * {@link Playouts#standard()}.
+ *
+ */
+final class VectorPlayouts implements Playouts {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    /** The bits of a rotation by 0 to 63. */
+    private static final int ROTATE_BITS = 6;
+    private static final long NOT_COL_0 = ~BitBoard.COL_0;
+    private static final long NOT_COL_7 = ~BitBoard.COL_7;
+
+    /**
+     * Get how many games one vector holds on this CPU.
+     *
+     * @return The number of lanes.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void play(long[] own, long[] opp, long[] seeds, int count, int plies, int[] scores) {
+        int lanes = SPECIES.length();
+        int full = SPECIES.loopBound(count);
+        long[] diff = new long[lanes];
+        for (int i = 0; i < full; i += lanes) {
+            LongVector mover = LongVector.fromArray(SPECIES, own, i);
+            LongVector other = LongVector.fromArray(SPECIES, opp, i);
+            LongVector seed = LongVector.fromArray(SPECIES, seeds, i);
+            for (int ply = 0; ply < plies; ply++) {
+                seed = seed.lanewise(VectorOperators.XOR, seed.lanewise(VectorOperators.LSHL, 13));
+                seed = seed.lanewise(VectorOperators.XOR, seed.lanewise(VectorOperators.LSHR, 7));
+                seed = seed.lanewise(VectorOperators.XOR, seed.lanewise(VectorOperators.LSHL, 17));
+                // The top 6 bits of the seed say by how much to rotate: one
+                // stage per bit, rotating by a constant where the bit is set.
+                LongVector rotated = rotateRight(mover.or(other).not(), seed);
+                LongVector square = rotateLeft(rotated.and(rotated.neg()), seed);
+                LongVector flipped = square.lanewise(VectorOperators.LSHL, 8)
+                        .or(square.lanewise(VectorOperators.LSHR, 8))
+                        .or(square.and(NOT_COL_7).lanewise(VectorOperators.LSHL, 1))
+                        .or(square.and(NOT_COL_0).lanewise(VectorOperators.LSHR, 1))
+                        .and(other);
+                LongVector moved = mover.or(square).or(flipped);
+                mover = other.and(flipped.not());
+                other = moved;
+            }
+            seed.intoArray(seeds, i);
+            LongVector score = bitCount(mover).sub(bitCount(other));
+            if ((plies & 1) != 0) {
+                score = score.neg();
+            }
+            score.intoArray(diff, 0);
+            for (int lane = 0; lane < lanes; lane++) {
+                scores[i + lane] = (int) diff[lane];
+            }
+        }
+        Scalar.play(own, opp, seeds, full, count, plies, scores);
+    }
+
+    /**
+     * Rotate every lane right by the top 6 bits of its seed. The Vector API of
+     * Java 17 does not compile shifts by a vector of counts, so this rotates by
+     * a constant per bit and keeps the result in the lanes that have the bit.
+     */
+    private static LongVector rotateRight(LongVector bits, LongVector seed) {
+        for (int k = 0; k < ROTATE_BITS; k++) {
+            LongVector rotated = bits.lanewise(VectorOperators.LSHR, 1 << k)
+                    .or(bits.lanewise(VectorOperators.LSHL, Long.SIZE - (1 << k)));
+            bits = select(seed, k, bits, rotated);
+        }
+        return bits;
+    }
+
+    private static LongVector rotateLeft(LongVector bits, LongVector seed) {
+        for (int k = 0; k < ROTATE_BITS; k++) {
+            LongVector rotated = bits.lanewise(VectorOperators.LSHL, 1 << k)
+                    .or(bits.lanewise(VectorOperators.LSHR, Long.SIZE - (1 << k)));
+            bits = select(seed, k, bits, rotated);
+        }
+        return bits;
+    }
+
+    /**
+     * Take a lane of b where bit k of the rotation is set, else of a, with masks
+     * of all ones or zeros instead of a VectorMask, which does not stay in a
+     * register here.
+     */
+    private static LongVector select(LongVector seed, int k, LongVector a, LongVector b) {
+        LongVector set = seed.lanewise(VectorOperators.LSHR, Long.SIZE - ROTATE_BITS + k).and(1L).neg();
+        return a.lanewise(VectorOperators.XOR, a.lanewise(VectorOperators.XOR, b).and(set));
+    }
+
+    /**
+     * Count the bits of every lane: add up pairs, then nibbles, then bytes.
+     */
+    private static LongVector bitCount(LongVector bits) {
+        LongVector x = bits.sub(bits.lanewise(VectorOperators.LSHR, 1).and(0x5555555555555555L));
+        x = x.and(0x3333333333333333L).add(x.lanewise(VectorOperators.LSHR, 2).and(0x3333333333333333L));
+        x = x.add(x.lanewise(VectorOperators.LSHR, 4)).and(0x0F0F0F0F0F0F0F0FL);
+        x = x.add(x.lanewise(VectorOperators.LSHR, 8));
+        x = x.add(x.lanewise(VectorOperators.LSHR, 16));
+        return x.add(x.lanewise(VectorOperators.LSHR, 32)).and(0x7F);
+    }
+
+    @Override
+    public String name() {
+        return "vector " + SPECIES.length() + "x64";
+    }
+}
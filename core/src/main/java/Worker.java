@@ -0,0 +1,125 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The Worker class. It is a process started by a {@link Coordinator}: it
+ * connects back to it over the loopback interface, runs the work units it is
+ * sent one after the other with headless bots, and answers each with one line.
+ *
+ * Usage: Worker &lt;port&gt; [crashAfter]
+ *
+ * Work units, one per line:
+ * <pre>
+ * GAME &lt;id&gt; &lt;botA&gt; &lt;botB&gt; &lt;rounds&gt; &lt;moveMs&gt; &lt;seed&gt; &lt;aIsO&gt; &lt;oFirst&gt;
+ * POSITION &lt;id&gt; &lt;bot&gt; &lt;moveMs&gt; &lt;board&gt; &lt;roundsLeft&gt; &lt;X|O&gt;
+ * QUIT
+ * </pre>
+ * A game is played as one game of a {@link Tournament}, with both bots seeded
+ * from the seed, so a game sent again gives the same result when moveMs is 0.
+ * A position is a board in the {@link GameServer} format, answered as by
+ * {@link Analyzer}. The answers are
+ * <pre>
+ * HELLO &lt;pid&gt;                                      once, on connecting
+ * GAME &lt;id&gt; &lt;scoreA&gt; &lt;scoreB&gt; &lt;nanos&gt; &lt;moves&gt;
+ * MOVE &lt;id&gt; &lt;row&gt; &lt;col&gt; &lt;nanos&gt;
+ * ERR &lt;id&gt; &lt;message&gt;                              the unit cannot be run
+ * </pre>
+ * where moves is one character per move, the bit index of its square in
+ * MOVE_CHARS. With crashAfter, the worker halts on receiving the unit after
+ * that many, for testing how the coordinator recovers.
+ *
+ */
+public class Worker {
+    /** The characters of the squares 0 to 63 in a list of moves. */
+    public static final String MOVE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        int crashAfter = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            out.println("HELLO " + ProcessHandle.current().pid());
+            int units = 0;
+            String line;
+            while ((line = in.readLine()) != null && !line.equals("QUIT")) {
+                if (crashAfter > 0 && units++ == crashAfter) {
+                    Runtime.getRuntime().halt(1);
+                }
+                out.println(run(line));
+            }
+        }
+    }
+
+    /**
+     * Run one work unit.
+     *
+     * @param line The unit.
+     *
+     * @return The answer.
+     */
+    static String run(String line) {
+        String[] args = line.split(" ");
+        String id = args.length > 1 ? args[1] : "-";
+        try {
+            switch (args[0]) {
+                case "GAME":
+                    return game(args);
+                case "POSITION":
+                    return position(args);
+                default:
+                    return "ERR " + id + " unknown unit: " + args[0];
+            }
+        } catch (RuntimeException e) {
+            return "ERR " + id + " " + e;
+        }
+    }
+
+    private static String game(String[] args) {
+        if (args.length != 9) {
+            throw new IllegalArgumentException("GAME takes 8 arguments.");
+        }
+        SplittableRandom random = new SplittableRandom(Long.parseLong(args[6]));
+        Bot botA = Bot.create(args[2], random.split());
+        Bot botB = Bot.create(args[3], random.split());
+        List<Integer> moves = new ArrayList<>();
+        long t0 = System.nanoTime();
+        int[] scores = Tournament.play(botA, botB, Boolean.parseBoolean(args[7]), Boolean.parseBoolean(args[8]),
+                Integer.parseInt(args[4]), Long.parseLong(args[5]) * 1_000_000L, new Tournament.Result(), moves);
+        long nanos = System.nanoTime() - t0;
+        StringBuilder sb = new StringBuilder(64 + moves.size());
+        sb.append("GAME ").append(args[1]).append(' ').append(scores[0]).append(' ').append(scores[1]);
+        sb.append(' ').append(nanos).append(' ');
+        for (int square : moves) {
+            sb.append(MOVE_CHARS.charAt(square));
+        }
+        return sb.toString();
+    }
+
+    private static String position(String[] args) {
+        if (args.length != 7) {
+            throw new IllegalArgumentException("POSITION takes 6 arguments.");
+        }
+        Bot bot = Bot.create(args[2]);
+        long moveBudget = Long.parseLong(args[3]) * 1_000_000L;
+        String[][] board = Analyzer.parse(args[4]);
+        int roundsLeft = Integer.parseInt(args[5]);
+        if (args[6].equals("X")) {
+            // Bots always play O.
+            board = Rules.toBoard(Rules.bits(board, "O"), Rules.bits(board, "X"));
+        }
+        long t0 = System.nanoTime();
+        int[] move = moveBudget > 0 ? bot.move(board, roundsLeft, t0 + moveBudget) : bot.move(board, roundsLeft);
+        return "MOVE " + args[1] + " " + move[0] + " " + move[1] + " " + (System.nanoTime() - t0);
+    }
+}
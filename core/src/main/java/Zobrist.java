@@ -0,0 +1,85 @@
+import java.util.SplittableRandom;
+
+/**
+ * The Zobrist class. It hashes a position to 64 bits by XOR-ing one random key
+ * per occupied square and side.
+ *
+ * The keys are pre-combined per byte of the bitboard, so a hash costs 16 table
+ * lookups instead of one per occupied square. The keys come from a fixed seed,
+ * so hashes are the same in every run and every JVM.
+ *
+ */
+public final class Zobrist {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /** Keys for the squares of the player to move, [byte index * 256 + byte value]. */
+    private static final long[] OWN = new long[8 * 256];
+    /** Keys for the squares of the other player, [byte index * 256 + byte value]. */
+    private static final long[] OPP = new long[8 * 256];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] ownSquares = new long[BitBoard.SQUARES];
+        long[] oppSquares = new long[BitBoard.SQUARES];
+        for (int sq = 0; sq < BitBoard.SQUARES; sq++) {
+            ownSquares[sq] = random.nextLong();
+            oppSquares[sq] = random.nextLong();
+        }
+        // The key of a byte value is the XOR of the keys of its set bits.
+        for (int b = 0; b < 8; b++) {
+            for (int v = 1; v < 256; v++) {
+                int low = Integer.numberOfTrailingZeros(v);
+                OWN[b * 256 + v] = OWN[b * 256 + (v & (v - 1))] ^ ownSquares[b * 8 + low];
+                OPP[b * 256 + v] = OPP[b * 256 + (v & (v - 1))] ^ oppSquares[b * 8 + low];
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Hash a position.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The 64-bit hash of the position.
+     */
+    public static long hash(long own, long opp) {
+        long h = 0;
+        for (int b = 0; b < 8; b++) {
+            h ^= OWN[(b << 8) | (int) ((own >>> (b << 3)) & 0xFF)];
+            h ^= OPP[(b << 8) | (int) ((opp >>> (b << 3)) & 0xFF)];
+        }
+        return h;
+    }
+
+    /**
+     * Hash the canonical representative of a position, so every symmetric copy
+     * gets the same hash. See {@link Symmetry}.
+     *
+     * @param own The squares of the player to move.
+     * @param opp The squares of the other player.
+     *
+     * @return The 64-bit hash of the canonical position.
+     */
+    public static long hashCanonical(long own, long opp) {
+        int sym = Symmetry.canonicalSymmetry(own, opp);
+        return hash(Symmetry.transform(own, sym), Symmetry.transform(opp, sym));
+    }
+
+    /**
+     * Mix extra search state (depth, side, a per-bot salt) into a hash.
+     *
+     * @param hash  The position hash.
+     * @param extra The extra state to mix in.
+     *
+     * @return The combined hash.
+     */
+    public static long mix(long hash, long extra) {
+        long z = extra * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 31)) * 0x94D049BB133111EBL;
+        return hash ^ z ^ (z >>> 29);
+    }
+}
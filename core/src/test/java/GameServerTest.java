@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The GameServerTest class. It plays the {@link GameServer} protocol over a
+ * real socket.
+ *
+ */
+class GameServerTest {
+    @Test
+    void fullBotQueueLeavesTheGameRetryable() throws Exception {
+        // One worker and room for one waiting task, both taken below.
+        BotScheduler scheduler = new BotScheduler(1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (GameServer server = new GameServer(0, scheduler); Client client = new Client(server.start())) {
+            CompletableFuture<Object> busy = scheduler.newLane().submit(() -> {
+                running.countDown();
+                release.await();
+                return null;
+            });
+            running.await();
+            CompletableFuture<Object> waiting = scheduler.newLane().submit(() -> null);
+
+            assertTrue(client.send("NEW random 28 false").endsWith(" X -"));
+            String failed = client.send("MOVE 0 0");
+            assertTrue(failed.startsWith("ERR bot failed") && failed.contains("Bot queue is full."), failed);
+            assertTrue(client.send("MOVE 0 1").startsWith("ERR not your turn"));
+            assertTrue(client.send("SHOW").endsWith(" O -"));
+
+            release.countDown();
+            busy.get();
+            waiting.get();
+            String state = client.send("RETRY");
+            assertTrue(state.matches("STATE .* 27 X \\d,\\d"), state);
+            assertTrue(client.send("RETRY").startsWith("ERR the bot is not to move"));
+        } finally {
+            release.countDown();
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void roundsOutsideTheBoardAreRejected() throws Exception {
+        try (BotScheduler scheduler = new BotScheduler(1, 16);
+                GameServer server = new GameServer(0, scheduler);
+                Client client = new Client(server.start())) {
+            assertTrue(client.send("NEW random 0 false").startsWith("ERR rounds must be 1 to 28"));
+            assertTrue(client.send("NEW random -3 false").startsWith("ERR rounds"));
+            assertTrue(client.send("NEW random 29 false").startsWith("ERR rounds"));
+            assertTrue(client.send("NEW random 28 true").matches("STATE .* 28 X \\d,\\d"));
+        }
+    }
+
+    /**
+     * A connection to the server that sends a command and reads its answer.
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            this.in = new BufferedReader(new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new PrintWriter(this.socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        String send(String command) throws IOException {
+            this.out.println(command);
+            return this.in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.socket.close();
+        }
+    }
+}
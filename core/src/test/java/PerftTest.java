@@ -0,0 +1,59 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The PerftTest class. It checks the move generation and capture rule against
+ * the reference node counts of {@link Perft}, in every mode: bulk, split over
+ * threads, plain and, for small trees, the String-grid walk.
+ *
+ */
+class PerftTest {
+    @Test
+    void startPositionMatchesReference() {
+        check("start", Rules.START_X, Rules.START_O, Perft.START_REFERENCE);
+    }
+
+    @Test
+    void midgameMatchesReference() {
+        String[][] board = Analyzer.parse(Perft.MIDGAME);
+        check("midgame", Rules.bits(board, "X"), Rules.bits(board, "O"), Perft.MIDGAME_REFERENCE);
+    }
+
+    /**
+     * Compare every mode with each row of a reference table.
+     *
+     * @param name      The name of the position, for the messages.
+     * @param x         The squares of player X.
+     * @param o         The squares of player O.
+     * @param reference Rows of { depth, rounds, botFirst, leaves, captures, flips, score }.
+     */
+    private static void check(String name, long x, long o, long[][] reference) {
+        for (long[] row : reference) {
+            int depth = (int) row[0];
+            int rounds = (int) row[1];
+            boolean isBotFirst = row[2] != 0;
+            long[] expected = { row[3], row[4], row[5], row[6] };
+            String label = String.format("%s perft(%d) rounds=%d botFirst=%b", name, depth, rounds, isBotFirst);
+
+            Perft.Counts bulk = new Perft(isBotFirst, true).perft(x, o, !isBotFirst, rounds, depth, 1);
+            assertArrayEquals(expected, values(bulk), label + " bulk");
+            Perft.Counts split = new Perft(isBotFirst, true).perft(x, o, !isBotFirst, rounds, depth, 4);
+            assertArrayEquals(expected, values(split), label + " split");
+            // The plain and String-grid walks play every leaf, keep them small.
+            if (bulk.leaves < 50_000_000L) {
+                Perft.Counts plain = new Perft(isBotFirst, false).perft(x, o, !isBotFirst, rounds, depth, 1);
+                assertArrayEquals(expected, values(plain), label + " plain");
+            }
+            if (bulk.leaves < 2_000_000L) {
+                Perft.Counts slow = new Perft.Counts();
+                Perft.slowWalk(Analyzer.format(x, o).toCharArray(), !isBotFirst, rounds, isBotFirst, depth, 0, slow);
+                assertArrayEquals(expected, values(slow), label + " String grid");
+            }
+        }
+    }
+
+    private static long[] values(Perft.Counts counts) {
+        return new long[] { counts.leaves, counts.captures, counts.flips, counts.score };
+    }
+}
@@ -1,2 +1,4 @@
-javac -cp ./src --module-path "./javafx-sdk/lib" --add-modules=javafx.controls,javafx.fxml src/*.java
-java -cp ./src --module-path "./javafx-sdk/lib" --add-modules=javafx.controls,javafx.fxml Main
\ No newline at end of file
+javac --add-modules jdk.incubator.vector -d build\core core\src\main\java\*.java
+javac -d build\ui -cp build\core --module-path "./javafx-sdk/lib" --add-modules=javafx.controls,javafx.fxml ui\src\main\java\*.java
+copy /Y ui\src\main\resources\* build\ui
+java -cp build\core;build\ui --module-path "./javafx-sdk/lib" --add-modules=javafx.controls,javafx.fxml Main
\ No newline at end of file
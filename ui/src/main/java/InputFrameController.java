@@ -39,6 +39,9 @@ public class InputFrameController {
     @FXML
     private ComboBox<String> botAlgorithm;
 
+    @FXML
+    private ComboBox<String> playerXAlgorithm;
+
     /**
      * Initialize the dropdown ComboBox with a list of items that are allowed to be
      * selected.
@@ -52,8 +55,15 @@ public class InputFrameController {
                 "16", "17", "18", "19", "20", "21", "22", "23", "24", "25", "26", "27", "28");
         this.numberOfRounds.setItems(numberOfRoundsDropdown);
         this.numberOfRounds.getSelectionModel().select(27);
-        this.botAlgorithm.setItems(FXCollections.observableArrayList("Minimax with Alpha-Beta Pruning",
-                "Hill-Climbing Search", "Genetic Algorithm", "Genetic-Minimax Algorithm", "Random Move"));
+        ObservableList<String> botAlgorithmDropdown = FXCollections.observableArrayList(
+                "Minimax with Alpha-Beta Pruning", "Hill-Climbing Search", "Genetic Algorithm",
+                "Genetic-Minimax Algorithm", "Portfolio (Parallel Search)", "Random Move");
+        this.botAlgorithm.setItems(botAlgorithmDropdown);
+        // Player X is a human, or a bot to watch the two bots play (spectator mode).
+        ObservableList<String> playerXDropdown = FXCollections.observableArrayList("Human");
+        playerXDropdown.addAll(botAlgorithmDropdown);
+        this.playerXAlgorithm.setItems(playerXDropdown);
+        this.playerXAlgorithm.getSelectionModel().select(0);
         this.player1.setText("Human");
         this.player2.setText("Bot");
 
@@ -95,34 +105,47 @@ public class InputFrameController {
             // number of rounds chosen.
             OutputFrameController outputFC = loader.getController();
 
-            // Bot Algorithm
-            // 1. Minimax
-            // 2. Hill Climbing
-            // 3. Genetic Algorithm
-            int botAlgorithm = 0;
-            if (this.botAlgorithm.getValue().equals("Minimax with Alpha-Beta Pruning")) {
-                botAlgorithm = 1;
-            } else if (this.botAlgorithm.getValue().equals("Hill-Climbing Search")) {
-                botAlgorithm = 2;
-            } else if (this.botAlgorithm.getValue().equals("Genetic Algorithm")) {
-                botAlgorithm = 3;
-            } else if (this.botAlgorithm.getValue().equals("Genetic-Minimax Algorithm")) {
-                botAlgorithm = 4;
-            }else if (this.botAlgorithm.getValue().equals("Random Move")) {
-                botAlgorithm = 5;
-            }
             outputFC.getInput(this.player1.getText(), this.player2.getText(), this.numberOfRounds.getValue(),
-                    this.isBotFirst.isSelected(), botAlgorithm);
+                    this.isBotFirst.isSelected(), toBotAlgorithm(this.botAlgorithm.getValue()),
+                    toBotAlgorithm(this.playerXAlgorithm.getValue()));
 
             // Open the new frame.
             Stage secondaryStage = new Stage();
             secondaryStage.setTitle("Game Board Display");
             secondaryStage.setScene(new Scene(root));
             secondaryStage.setResizable(true);
+            // Stop a spectator match when its window closes.
+            secondaryStage.setOnHidden(event -> outputFC.stopSpectator());
             secondaryStage.show();
         }
     }
 
+    /**
+     * Return the number of a bot algorithm in the dropdown.
+     *
+     * @param algorithm The dropdown item.
+     *
+     * @return 1 Minimax, 2 Hill Climbing, 3 Genetic Algorithm, 4 Genetic-Minimax,
+     *         5 Random Move, 6 Portfolio, or 0 for a human.
+     *
+     */
+    private static int toBotAlgorithm(String algorithm) {
+        if (algorithm.equals("Minimax with Alpha-Beta Pruning")) {
+            return 1;
+        } else if (algorithm.equals("Hill-Climbing Search")) {
+            return 2;
+        } else if (algorithm.equals("Genetic Algorithm")) {
+            return 3;
+        } else if (algorithm.equals("Genetic-Minimax Algorithm")) {
+            return 4;
+        } else if (algorithm.equals("Random Move")) {
+            return 5;
+        } else if (algorithm.equals("Portfolio (Parallel Search)")) {
+            return 6;
+        }
+        return 0;
+    }
+
     /**
      * Return whether all input fields have been successfully validated or not.
      *
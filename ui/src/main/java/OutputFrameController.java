@@ -0,0 +1,512 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.RowConstraints;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.management.relation.Role;
+
+/**
+ * The OutputFrameController class. It controls button input from the users when
+ * playing the game.
+ *
+ * @author Jedid Ahn
+ *
+ */
+public class OutputFrameController {
+    @FXML
+    private GridPane gameBoard;
+
+    @FXML
+    private GridPane scoreBoard;
+
+    @FXML
+    private Label roundsLeftLabel;
+    @FXML
+    private Label playerXName;
+    @FXML
+    private Label playerOName;
+    @FXML
+    private HBox playerXBoxPane;
+    @FXML
+    private HBox playerOBoxPane;
+    @FXML
+    private Label playerXScoreLabel;
+    @FXML
+    private Label playerOScoreLabel;
+
+    private GameSession session;
+    private Bot bot;
+
+    // The moves of a game against the bot, appended to the file named by the
+    // ui.gameLog system property when the game ends, for OpponentModelTrainer.
+    private static final String GAME_LOG = System.getProperty("ui.gameLog");
+    private final List<Integer> moves = new ArrayList<>();
+    private int rounds;
+    private boolean isBotFirst;
+
+    private static final int ROW = 8;
+    private static final int COL = 8;
+    private Button[][] buttons = new Button[ROW][COL];
+
+    // The style classes of style.css for cells and player boxes.
+    private static final String CELL_X = "cell-x";
+    private static final String CELL_O = "cell-o";
+    private static final String BOX_TURN = "box-turn";
+    private static final String BOX_IDLE = "box-idle";
+    private static final String BOX_LOST = "box-lost";
+    private static final String BOX_TIE = "box-tie";
+    private static final List<String> STATE_CLASSES = List.of(CELL_X, CELL_O, BOX_TURN, BOX_IDLE, BOX_LOST,
+            BOX_TIE);
+
+    // The pieces shown on the buttons, so a render only touches the cells that
+    // differ from the session.
+    private long shownX;
+    private long shownO;
+
+    // The time spent rendering the board after every move, printed at the end of
+    // the game when the ui.frameStats system property is true.
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+
+    // Spectator mode: the bots play on the spectator's worker thread and the timer
+    // shows its latest frame at most FRAME_RATE times a second.
+    private static final int FRAME_RATE = Integer.getInteger("ui.fps", 30);
+    private Spectator spectator;
+    private AnimationTimer spectatorTimer;
+    private String nameX;
+    private String nameO;
+
+    /**
+     * Set the name of player X (player) to be name1, set the name of player O (bot)
+     * to be name2,
+     * and the number of rounds played to be rounds. This input is received from
+     * the input frame and is output in the score board of the output frame.
+     *
+     * @param name1         Name of Player 1 (Player).
+     * @param name2         Name of Player 2 (Bot).
+     * @param rounds        The number of rounds chosen to be played.
+     * @param isBotFirst    True if bot is first, false otherwise.
+     * @param botAlgorithm  The algorithm of the bot playing O.
+     * @param botAlgorithmX The algorithm of a bot playing X, or 0 for a human. With
+     *                      a bot on both sides the game is watched in spectator
+     *                      mode.
+     *
+     */
+    void getInput(String name1, String name2, String rounds, boolean isBotFirst, int botAlgorithm,
+            int botAlgorithmX) {
+        this.playerXName.setText(name1);
+        this.playerOName.setText(name2);
+        this.roundsLeftLabel.setText(rounds);
+        this.session = new GameSession(Integer.parseInt(rounds), isBotFirst);
+        this.rounds = Integer.parseInt(rounds);
+        this.isBotFirst = isBotFirst;
+
+        // Show the starting pieces and scores of the session.
+        this.updateGameBoard();
+
+        // Start bot
+        this.bot = createBot(botAlgorithm);
+
+        if (botAlgorithmX != 0) {
+            this.watch(createBot(botAlgorithmX), Integer.parseInt(rounds), isBotFirst);
+            return;
+        }
+        // X is a human, whose likely replies the model of the logged games knows.
+        if (this.bot instanceof MinimaxBot) {
+            ((MinimaxBot) this.bot).setOpponentModel(OpponentModel.standard());
+        }
+        if (isBotFirst) {
+            this.moveBot();
+        }
+    }
+
+    /**
+     * Create the bot of an algorithm number of the input frame.
+     *
+     * @param botAlgorithm 1 minimax, 2 hill climbing, 3 genetic, 4 genetic-minimax,
+     *                     5 random or 6 portfolio.
+     *
+     * @return A new bot.
+     */
+    private static Bot createBot(int botAlgorithm) {
+        if (botAlgorithm == 1) {
+            return new MinimaxBot();
+        } else if (botAlgorithm == 2) {
+            return new HillClimbingBot();
+        } else if (botAlgorithm == 3) {
+            return new GeneticBot();
+        } else if (botAlgorithm == 4) {
+            return new GeneticMinimaxBot();
+        } else if (botAlgorithm == 6) {
+            return new PortfolioBot(new SplittableRandom());
+        } else {
+            return new RandomBot();
+        }
+    }
+
+    /**
+     * Construct the 8x8 game board by creating a total of 64 buttons in a 2
+     * dimensional array, and construct the 8x2 score board for scorekeeping
+     * and then initialize turn and score.
+     *
+     */
+    @FXML
+    private void initialize() {
+        // Construct game board with 8 rows.
+        for (int i = 0; i < ROW; i++) {
+            RowConstraints rowConst = new RowConstraints();
+            rowConst.setPercentHeight(100.0 / ROW);
+            this.gameBoard.getRowConstraints().add(rowConst);
+        }
+
+        // Construct game board with 8 columns.
+        for (int i = 0; i < COL; i++) {
+            ColumnConstraints colConst = new ColumnConstraints();
+            colConst.setPercentWidth(100.0 / COL);
+            this.gameBoard.getColumnConstraints().add(colConst);
+        }
+
+        // Style buttons and construct 8x8 game board.
+        for (int i = 0; i < ROW; i++) {
+            for (int j = 0; j < COL; j++) {
+                this.buttons[i][j] = new Button();
+                this.buttons[i][j].setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+                this.buttons[i][j].setCursor(Cursor.HAND);
+                this.gameBoard.add(this.buttons[i][j], j, i);
+
+                // Add ActionListener to each button such that when it is clicked, it calls
+                // the selected coordinates method with its i and j coordinates.
+                final int finalI = i;
+                final int finalJ = j;
+                this.buttons[i][j].setOnAction(event -> this.selectedCoordinates(finalI, finalJ));
+            }
+        }
+
+        // Construct score board with 8 rows.
+        for (int i = 0; i < ROW; i++) {
+            RowConstraints rowConst = new RowConstraints();
+            rowConst.setPercentHeight(100.0 / ROW);
+            this.scoreBoard.getRowConstraints().add(rowConst);
+        }
+
+        // Construct score board with 2 column.
+        for (int i = 0; i < 2; i++) {
+            ColumnConstraints colConst = new ColumnConstraints();
+            colConst.setPercentWidth(100.0 / 2);
+            this.scoreBoard.getColumnConstraints().add(colConst);
+        }
+
+        // Initialize turn for the game. The pieces and scores are shown by getInput.
+        setStyleClass(this.playerXBoxPane, BOX_TURN);
+        setStyleClass(this.playerOBoxPane, BOX_IDLE);
+    }
+
+    /**
+     * Process the coordinates of the button that the user selected on the game
+     * board.
+     *
+     * @param i The row number of the button clicked.
+     * @param j The column number of the button clicked.
+     *
+     */
+    private void selectedCoordinates(int i, int j) {
+        // The bots play by themselves in spectator mode.
+        if (this.spectator != null) {
+            return;
+        }
+        // Invalid when a button with an X or an O is clicked.
+        if (!this.session.isEmpty(i, j))
+            new Alert(Alert.AlertType.ERROR, "Invalid coordinates: Try again!").showAndWait();
+        // Button must be blank.
+        else {
+            boolean playerXMoved = this.session.isPlayerXTurn();
+
+            // Mark the board and change surrounding cells to X or O if applicable. The
+            // session also decrements the number of rounds left after both Player X &
+            // Player O have played.
+            this.session.play(i, j);
+            this.moves.add(BitBoard.square(i, j));
+            this.updateGameBoard();
+
+            if (this.session.isOver()) { // Game has terminated.
+                this.endOfGame(); // Determine & announce the winner.
+            } else if (playerXMoved) {
+                // Bot's turn
+                this.moveBot();
+            }
+        }
+    }
+
+    /**
+     * Show the session on the board.
+     *
+     */
+    private void updateGameBoard() {
+        this.render(this.session.getPlayerX(), this.session.getPlayerO(), this.session.getRoundsLeft(),
+                this.session.isPlayerXTurn());
+    }
+
+    /**
+     * Show a position on the board. Only the cells whose piece differs from the
+     * one shown get a new text and style class, and the labels and player boxes
+     * are only set when their value changes.
+     *
+     * @param x           The squares of player X.
+     * @param o           The squares of player O.
+     * @param roundsLeft  The number of rounds left.
+     * @param playerXTurn True if player X moves next.
+     *
+     */
+    private void render(long x, long o, int roundsLeft, boolean playerXTurn) {
+        long start = System.nanoTime();
+        for (long changed = (x ^ this.shownX) | (o ^ this.shownO); changed != 0; changed &= changed - 1) {
+            int square = Long.numberOfTrailingZeros(changed);
+            Button button = this.buttons[square / COL][square % COL];
+            boolean isX = (x >>> square & 1) != 0;
+            boolean isO = (o >>> square & 1) != 0;
+            // Only a new game of a spectator match empties a square.
+            button.setText(isX ? "X" : isO ? "O" : "");
+            if (isX || isO) {
+                setStyleClass(button, isX ? CELL_X : CELL_O);
+            } else {
+                button.getStyleClass().removeAll(STATE_CLASSES);
+            }
+        }
+        this.shownX = x;
+        this.shownO = o;
+
+        setText(this.playerXScoreLabel, String.valueOf(Long.bitCount(x)));
+        setText(this.playerOScoreLabel, String.valueOf(Long.bitCount(o)));
+        setText(this.roundsLeftLabel, String.valueOf(roundsLeft));
+        // Highlight the player to move.
+        setStyleClass(this.playerXBoxPane, playerXTurn ? BOX_TURN : BOX_IDLE);
+        setStyleClass(this.playerOBoxPane, playerXTurn ? BOX_IDLE : BOX_TURN);
+        this.frameTimes.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Let a bot play X against the bot of player O, on the worker thread of a
+     * {@link Spectator}, for ui.spectatorGames games (10 by default). An
+     * AnimationTimer shows the latest position at most FRAME_RATE times a second,
+     * so fast bots are not slowed down by drawing and slow bots do not freeze the
+     * window. The names show the games won so far.
+     *
+     * @param botX       The bot playing X.
+     * @param rounds     The number of rounds per game.
+     * @param isBotFirst True if O moves first, false otherwise.
+     *
+     */
+    private void watch(Bot botX, int rounds, boolean isBotFirst) {
+        this.nameX = this.playerXName.getText();
+        this.nameO = this.playerOName.getText();
+        for (int i = 0; i < ROW; i++)
+            for (int j = 0; j < COL; j++)
+                this.buttons[i][j].setCursor(Cursor.DEFAULT);
+
+        this.spectator = new Spectator(botX, this.bot, rounds, isBotFirst,
+                Integer.getInteger("ui.spectatorGames", 10));
+        long frameInterval = 1_000_000_000L / FRAME_RATE;
+        this.spectatorTimer = new AnimationTimer() {
+            private long lastFrame;
+            private Spectator.Frame shown;
+
+            @Override
+            public void handle(long now) {
+                if (now - this.lastFrame < frameInterval) {
+                    return;
+                }
+                Spectator.Frame frame = OutputFrameController.this.spectator.latest();
+                if (frame == this.shown) {
+                    return;
+                }
+                this.lastFrame = now;
+                this.shown = frame;
+                OutputFrameController.this.showFrame(frame);
+                if (frame.finished) {
+                    this.stop();
+                    // Alerts cannot be shown while the timer is running a pulse.
+                    Platform.runLater(() -> OutputFrameController.this.endOfMatch(frame));
+                }
+            }
+        };
+        this.spectator.start();
+        this.spectatorTimer.start();
+    }
+
+    private void showFrame(Spectator.Frame frame) {
+        this.render(frame.playerX, frame.playerO, frame.roundsLeft, frame.playerXTurn);
+        setText(this.playerXName, this.nameX + " (" + frame.xWins + ")");
+        setText(this.playerOName, this.nameO + " (" + frame.oWins + ")");
+    }
+
+    /**
+     * Stop a spectator match, e.g. when its window is closed.
+     *
+     */
+    void stopSpectator() {
+        if (this.spectator != null) {
+            this.spectator.close();
+            this.spectatorTimer.stop();
+        }
+    }
+
+    /**
+     * Give a node one of the state classes of style.css in place of the one it
+     * has, if it does not have it already.
+     *
+     * @param node  The button or player box.
+     * @param style The style class.
+     */
+    private static void setStyleClass(Node node, String style) {
+        List<String> classes = node.getStyleClass();
+        if (!classes.contains(style)) {
+            classes.removeAll(STATE_CLASSES);
+            classes.add(style);
+        }
+    }
+
+    private static void setText(Label label, String text) {
+        if (!label.getText().equals(text)) {
+            label.setText(text);
+        }
+    }
+
+    /**
+     * Determine and announce the winner of the game.
+     *
+     */
+    private void endOfGame() {
+        if (GAME_LOG != null) {
+            try {
+                GameLog.append(Paths.get(GAME_LOG), this.bot.getClass().getSimpleName(), this.rounds,
+                        this.isBotFirst, this.moves);
+            } catch (IOException e) {
+                new Alert(Alert.AlertType.ERROR, "Cannot log the game: " + e.getMessage()).showAndWait();
+            }
+        }
+        this.announce(this.session.getWinner());
+    }
+
+    /**
+     * Announce the winner of a spectator match, by games won, or why it stopped.
+     *
+     * @param frame The last frame of the match.
+     *
+     */
+    private void endOfMatch(Spectator.Frame frame) {
+        if (frame.error != null) {
+            new Alert(Alert.AlertType.ERROR, "Bot stopped the match: " + frame.error).showAndWait();
+        }
+        this.playerXName.setText(this.nameX);
+        this.playerOName.setText(this.nameO);
+        this.announce(frame.getWinner());
+        if (Boolean.getBoolean("ui.frameStats")) {
+            System.out.println(frame.moves + " moves played, " + this.frameTimes.count() + " frames shown");
+        }
+    }
+
+    /**
+     * Announce the winner and mark the player boxes.
+     *
+     * @param winner "X", "O" or "" for a tie.
+     *
+     */
+    private void announce(String winner) {
+        // Player X is the winner.
+        if (winner.equals("X")) {
+            new Alert(Alert.AlertType.INFORMATION,
+                    this.playerXName.getText() + " menang nich!").showAndWait();
+            setStyleClass(this.playerXBoxPane, BOX_TURN);
+            setStyleClass(this.playerOBoxPane, BOX_LOST);
+            this.playerXName.setText(this.playerXName.getText() + " (Winner!)");
+        }
+
+        // Player O is the winner,
+        else if (winner.equals("O")) {
+            new Alert(Alert.AlertType.INFORMATION,
+                    this.playerOName.getText() + " menang nich!").showAndWait();
+            setStyleClass(this.playerXBoxPane, BOX_LOST);
+            setStyleClass(this.playerOBoxPane, BOX_IDLE);
+            this.playerOName.setText(this.playerOName.getText() + " (Winner!)");
+        }
+
+        // Player X and Player O tie.
+        else {
+            new Alert(Alert.AlertType.INFORMATION,
+                    this.playerXName.getText() + " and " + this.playerOName.getText() + " have tied!").showAndWait();
+            setStyleClass(this.playerXBoxPane, BOX_TIE);
+            setStyleClass(this.playerOBoxPane, BOX_TIE);
+        }
+
+        // Disable the game board buttons to prevent from playing further.
+        for (int i = 0; i < ROW; i++)
+            for (int j = 0; j < COL; j++)
+                this.buttons[i][j].setDisable(true);
+
+        if (Boolean.getBoolean("ui.frameStats")) {
+            System.out.println("board render: " + this.frameTimes);
+        }
+    }
+
+    /**
+     * Close OutputFrame controlled by OutputFrameController if end game button is
+     * clicked.
+     *
+     */
+    @FXML
+    private void endGame() {
+        System.exit(0);
+    }
+
+    /**
+     * Reopen InputFrame controlled by InputFrameController if play new game button
+     * is clicked.
+     *
+     */
+    @FXML
+    private void playNewGame() throws IOException {
+        // Close secondary stage/output frame.
+        Stage secondaryStage = (Stage) this.gameBoard.getScene().getWindow();
+        secondaryStage.close();
+
+        // Reopen primary stage/input frame.
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("InputFrame.fxml"));
+        Parent root = loader.load();
+        Stage primaryStage = new Stage();
+        primaryStage.setTitle("Adjacency Gameplay");
+        primaryStage.setScene(new Scene(root));
+        primaryStage.setResizable(false);
+        primaryStage.show();
+    }
+
+    private void moveBot() {
+        int[] botMove = this.bot.move(this.session.snapshot(), this.session.getRoundsLeft());
+        int i = botMove[0];
+        int j = botMove[1];
+        if (!this.session.isEmpty(i, j)) {
+            new Alert(Alert.AlertType.ERROR, "Bot Invalid coordinates: Try again!" + i + " " + j).showAndWait();
+            System.exit(1);
+            return;
+        }
+
+        this.selectedCoordinates(i, j);
+    }
+}
\ No newline at end of file